@@ -1,14 +1,35 @@
 package dev.oumaimaa;
 
+import dev.oumaimaa.announce.ScheduledAdEngine;
+import dev.oumaimaa.audience.AdBroadcaster;
+import dev.oumaimaa.audience.PermissionAudienceIndex;
+import dev.oumaimaa.commands.AdmissionController;
 import dev.oumaimaa.commands.AdsCommand;
-import dev.oumaimaa.commands.AdsTabCompleter;
+import dev.oumaimaa.commands.AdsBrigadierCommand;
+import dev.oumaimaa.commands.AdsSuggestionIndex;
 import dev.oumaimaa.commands.HelpCommand;
 import dev.oumaimaa.config.AdsConfigManager;
+import dev.oumaimaa.config.ConfigWatcher;
 import dev.oumaimaa.data.CooldownManager;
 import dev.oumaimaa.data.DatabaseManager;
+import dev.oumaimaa.data.PendingAd;
+import dev.oumaimaa.moderation.DuplicateAdDetector;
+import dev.oumaimaa.moderation.ModerationChain;
 import dev.oumaimaa.papi.Placeholder;
+import dev.oumaimaa.scheduler.AdScheduler;
+import dev.oumaimaa.trace.AdTracer;
+import dev.oumaimaa.trace.TraceCategory;
+import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -20,20 +41,43 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public final class KawaiiAdPlugin extends JavaPlugin {
 
-    private final Map<UUID, String> pendingAds = new ConcurrentHashMap<>();
+    private final Map<UUID, PendingAd> pendingAds = new ConcurrentHashMap<>();
 
+    private AdScheduler adScheduler;
     private AdsConfigManager configManager;
     private DatabaseManager databaseManager;
     private CooldownManager cooldownManager;
+    private DuplicateAdDetector duplicateAdDetector;
+    private ModerationChain moderationChain;
+    private AdmissionController admissionController;
+    private AdsSuggestionIndex suggestionIndex;
+    private ConfigWatcher configWatcher;
+    private PermissionAudienceIndex audienceIndex;
+    private AdBroadcaster broadcaster;
+    private ScheduledAdEngine scheduledAdEngine;
+    private AdTracer tracer;
+
+    /**
+     * Creates the plugin. Called by the server's plugin loader.
+     */
+    public KawaiiAdPlugin() {
+    }
+
+    /**
+     * Creates the plugin outside the server's plugin class loader, for the load harness in the test sources.
+     */
+    @SuppressWarnings("removal")
+    KawaiiAdPlugin(final @NotNull JavaPluginLoader loader, final @NotNull PluginDescriptionFile description,
+                   final @NotNull File dataFolder, final @NotNull File file) {
+        super(loader, description, dataFolder, file);
+    }
 
     @Override
     public void onEnable() {
-        this.configManager = new AdsConfigManager(this);
-        this.configManager.setupConfig();
-        this.databaseManager = new DatabaseManager(this);
-        this.cooldownManager = new CooldownManager(this);
-        Objects.requireNonNull(this.getCommand("ads")).setExecutor(new AdsCommand(this));
-        Objects.requireNonNull(this.getCommand("ads")).setTabCompleter(new AdsTabCompleter(this));
+        startServices();
+        final AdsBrigadierCommand adsCommand = new AdsBrigadierCommand(new AdsCommand(this), suggestionIndex);
+        getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS, event ->
+                event.registrar().register(adsCommand.build(), "Previews and confirms a server-wide advertisement."));
         Objects.requireNonNull(this.getCommand("kawaiiadshelp")).setExecutor(new HelpCommand());
 
         if (getServer().getPluginManager().getPlugin("PlaceholderAPI") != null) {
@@ -44,8 +88,51 @@ public final class KawaiiAdPlugin extends JavaPlugin {
         getLogger().info("KawaiiAD enabled.");
     }
 
+    /**
+     * Creates the plugin's components and registers their listeners, in dependency order.
+     * {@link #onEnable()} then adds the commands and the PlaceholderAPI expansion, which need a running server;
+     * the load harness calls this directly.
+     */
+    void startServices() {
+        this.adScheduler = AdScheduler.create(this);
+        this.configManager = new AdsConfigManager(this);
+        this.configManager.setupConfig();
+        this.tracer = new AdTracer(this);
+        this.databaseManager = new DatabaseManager(this);
+        this.cooldownManager = new CooldownManager(this);
+        getServer().getPluginManager().registerEvents(cooldownManager, this);
+        this.moderationChain = new ModerationChain(configManager);
+        this.admissionController = new AdmissionController(configManager);
+        getServer().getPluginManager().registerEvents(admissionController, this);
+        this.duplicateAdDetector = new DuplicateAdDetector(configManager.getDuplicateHistorySize(), configManager.getMaxLength());
+        this.audienceIndex = new PermissionAudienceIndex(this);
+        this.audienceIndex.track(AdsCommand.REVIEW_PERMISSION);
+        configManager.getChannels().values().forEach(channel -> audienceIndex.track(channel.permission()));
+        this.audienceIndex.startResyncTask(configManager.getAudienceResyncSeconds());
+        getServer().getPluginManager().registerEvents(audienceIndex, this);
+        this.broadcaster = new AdBroadcaster(adScheduler);
+        this.scheduledAdEngine = new ScheduledAdEngine(this);
+        this.scheduledAdEngine.start();
+        this.suggestionIndex = new AdsSuggestionIndex(this);
+        getServer().getPluginManager().registerEvents(suggestionIndex, this);
+
+        if (configManager.isAutoReloadEnabled()) {
+            this.configWatcher = new ConfigWatcher(this, configManager.getAutoReloadDebounceMillis());
+            this.configWatcher.start();
+        }
+    }
+
     @Override
     public void onDisable() {
+        if (configWatcher != null) {
+            configWatcher.stop();
+        }
+        if (scheduledAdEngine != null) {
+            scheduledAdEngine.stop();
+        }
+        if (databaseManager != null) {
+            databaseManager.beginShutdown();
+        }
         if (cooldownManager != null) {
             cooldownManager.saveAllCooldownsAsync();
         }
@@ -55,6 +142,37 @@ public final class KawaiiAdPlugin extends JavaPlugin {
         getLogger().info("KawaiiAD disabled.");
     }
 
+    /**
+     * Reloads config.yml off the main thread and atomically swaps in the new settings.
+     * Invalid configs are rejected and the previous settings stay active.
+     *
+     * @param requester The sender to notify of the outcome, or null for automatic reloads.
+     */
+    public void reloadConfiguration(final @Nullable CommandSender requester) {
+        adScheduler.runAsync(() -> {
+            final String error = configManager.reloadFromDisk();
+            adScheduler.runGlobalLater(() -> {
+                if (error != null) {
+                    getLogger().warning("Config reload rejected: " + error);
+                    if (requester != null) {
+                        final Component message = Component.text("Config reload rejected: " + error, NamedTextColor.RED);
+                        adScheduler.runForSender(requester, () -> requester.sendMessage(message));
+                    }
+                    return;
+                }
+
+                configManager.getChannels().values().forEach(channel -> audienceIndex.track(channel.permission()));
+                suggestionIndex.refresh();
+                scheduledAdEngine.reload();
+                if (requester != null) {
+                    final Component message = Component.text("KawaiiAD configuration reloaded.", NamedTextColor.GREEN);
+                    adScheduler.runForSender(requester, () -> requester.sendMessage(message));
+                }
+                tracer.trace(TraceCategory.CONFIG, "Config reloaded by {}", requester != null ? requester.getName() : "file watcher");
+            }, 1L);
+        });
+    }
+
     /**
      * Retrieves the database manager instance.
      *
@@ -69,7 +187,7 @@ public final class KawaiiAdPlugin extends JavaPlugin {
      *
      * @return The map of pending ads.
      */
-    public Map<UUID, String> getPendingAds() {
+    public Map<UUID, PendingAd> getPendingAds() {
         return pendingAds;
     }
 
@@ -90,4 +208,85 @@ public final class KawaiiAdPlugin extends JavaPlugin {
     public CooldownManager getCooldownManager() {
         return cooldownManager;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the near-duplicate ad detector.
+     *
+     * @return The DuplicateAdDetector instance.
+     */
+    public DuplicateAdDetector getDuplicateAdDetector() {
+        return duplicateAdDetector;
+    }
+
+    /**
+     * Retrieves the index backing /ads argument suggestions.
+     *
+     * @return The AdsSuggestionIndex instance.
+     */
+    public AdsSuggestionIndex getSuggestionIndex() {
+        return suggestionIndex;
+    }
+
+    /**
+     * Retrieves the permission-keyed audience index.
+     *
+     * @return The PermissionAudienceIndex instance.
+     */
+    public PermissionAudienceIndex getAudienceIndex() {
+        return audienceIndex;
+    }
+
+    /**
+     * Retrieves the broadcaster that reaches each player on their own thread.
+     *
+     * @return The AdBroadcaster instance.
+     */
+    public AdBroadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
+    /**
+     * Retrieves the platform scheduler (Paper or Folia).
+     *
+     * @return The AdScheduler instance.
+     */
+    public AdScheduler getAdScheduler() {
+        return adScheduler;
+    }
+
+    /**
+     * Retrieves the configured moderation chain.
+     *
+     * @return The ModerationChain instance.
+     */
+    public ModerationChain getModerationChain() {
+        return moderationChain;
+    }
+
+    /**
+     * Retrieves the per-player /ads admission controller.
+     *
+     * @return The AdmissionController instance.
+     */
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Retrieves the scheduled server ad engine.
+     *
+     * @return The ScheduledAdEngine instance.
+     */
+    public ScheduledAdEngine getScheduledAdEngine() {
+        return scheduledAdEngine;
+    }
+
+    /**
+     * Retrieves the in-memory debug tracer.
+     *
+     * @return The AdTracer instance.
+     */
+    public AdTracer getTracer() {
+        return tracer;
+    }
+}
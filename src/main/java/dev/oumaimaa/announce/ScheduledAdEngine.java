@@ -0,0 +1,180 @@
+package dev.oumaimaa.announce;
+
+import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.config.AdsConfigManager;
+import dev.oumaimaa.config.ScheduledAd;
+import dev.oumaimaa.jfr.BroadcastEvent;
+import dev.oumaimaa.scheduler.TaskHandle;
+import dev.oumaimaa.trace.TraceCategory;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires the scheduled server ads from config.yml.
+ * All ads sit in one priority queue ordered by next fire time and a single global task checks its head,
+ * so an idle check is one peek regardless of how many ads are configured.
+ * <p>
+ * A scheduled ad never fires within the configured spacing of a player ad or another scheduled ad;
+ * ads that come due meanwhile wait, and when several are due at once one is picked by weight.
+ * The queue is only touched on the global thread; its size is published separately for other threads.
+ */
+public final class ScheduledAdEngine {
+
+    private static final long CHECK_PERIOD_TICKS = 20L;
+
+    private final KawaiiAdPlugin plugin;
+    private final AdsConfigManager configManager;
+    private final PriorityQueue<Slot> queue = new PriorityQueue<>(Comparator.comparingLong(slot -> slot.nextFireAt));
+    private volatile long lastPlayerAdAt;
+    private volatile int adCount;
+    private long lastScheduledAdAt;
+    private TaskHandle task;
+
+    /**
+     * Constructs the engine.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public ScheduledAdEngine(final @NotNull KawaiiAdPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getAdsConfigManager();
+    }
+
+    /**
+     * Loads the configured ads and starts the timing task.
+     */
+    public void start() {
+        reload();
+        task = plugin.getAdScheduler().runGlobalTimer(this::tick, CHECK_PERIOD_TICKS, CHECK_PERIOD_TICKS);
+    }
+
+    /**
+     * Stops the timing task.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Rebuilds the queue from the active configuration. Ads that still exist keep their next fire time.
+     * Must be called on the global thread.
+     */
+    public void reload() {
+        final Map<String, Long> previous = new HashMap<>();
+        for (final Slot slot : queue) {
+            previous.put(slot.ad.name(), slot.nextFireAt);
+        }
+        queue.clear();
+
+        final long now = System.currentTimeMillis();
+        for (final ScheduledAd ad : configManager.getScheduledAds()) {
+            final long intervalMillis = TimeUnit.SECONDS.toMillis(ad.intervalSeconds());
+            final long nextFireAt = Math.min(previous.getOrDefault(ad.name(), Long.MAX_VALUE), now + intervalMillis);
+            queue.offer(new Slot(ad, nextFireAt));
+        }
+        adCount = queue.size();
+    }
+
+    /**
+     * Notes that a player ad was just broadcast, holding scheduled ads back for the configured spacing.
+     * Safe to call from any thread.
+     */
+    public void recordPlayerAd() {
+        lastPlayerAdAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Safe to call from any thread. A firing ad leaves the queue only briefly within one tick, so the count changes on reload alone.
+     *
+     * @return The number of scheduled ads in rotation.
+     */
+    public int size() {
+        return adCount;
+    }
+
+    private void tick() {
+        final Slot head = queue.peek();
+        final long now = System.currentTimeMillis();
+        if (head == null || head.nextFireAt > now) {
+            return;
+        }
+
+        final long spacingMillis = TimeUnit.SECONDS.toMillis(configManager.getScheduledAdSpacingSeconds());
+        if (now < Math.max(lastPlayerAdAt, lastScheduledAdAt) + spacingMillis) {
+            return;
+        }
+
+        final List<Slot> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().nextFireAt <= now) {
+            due.add(queue.poll());
+        }
+
+        final Slot chosen = pickByWeight(due);
+        fire(chosen.ad);
+        lastScheduledAdAt = now;
+        chosen.nextFireAt = now + TimeUnit.SECONDS.toMillis(chosen.ad.intervalSeconds());
+        queue.addAll(due);
+    }
+
+    private static Slot pickByWeight(final List<Slot> due) {
+        if (due.size() == 1) {
+            return due.getFirst();
+        }
+        int totalWeight = 0;
+        for (final Slot slot : due) {
+            totalWeight += slot.ad.weight();
+        }
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (final Slot slot : due) {
+            roll -= slot.ad.weight();
+            if (roll < 0) {
+                return slot;
+            }
+        }
+        return due.getLast();
+    }
+
+    private void fire(final ScheduledAd ad) {
+        final BroadcastEvent event = new BroadcastEvent();
+        event.begin();
+        // Runs on the global thread; each player is reached on their own, and world checks run there too.
+        final int recipients;
+        if (ad.worlds().isEmpty()) {
+            plugin.getBroadcaster().toConsole(ad.message());
+            recipients = plugin.getBroadcaster().broadcast(Bukkit.getOnlinePlayers(), ad.message(), null);
+        } else {
+            recipients = plugin.getBroadcaster().broadcast(Bukkit.getOnlinePlayers(),
+                    player -> ad.worlds().contains(player.getWorld().getName()), ad.message(), null);
+        }
+        if (event.shouldCommit()) {
+            event.scope = "scheduled";
+            event.recipients = recipients;
+            event.commit();
+        }
+
+        plugin.getTracer().trace(TraceCategory.SCHEDULED, "Scheduled ad '{}' broadcast to {} players", ad.name(), recipients);
+    }
+
+    private static final class Slot {
+
+        private final ScheduledAd ad;
+        private long nextFireAt;
+
+        private Slot(final ScheduledAd ad, final long nextFireAt) {
+            this.ad = ad;
+            this.nextFireAt = nextFireAt;
+        }
+    }
+}
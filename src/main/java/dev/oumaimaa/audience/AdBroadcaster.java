@@ -0,0 +1,81 @@
+package dev.oumaimaa.audience;
+
+import dev.oumaimaa.scheduler.AdScheduler;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Delivers a message to many players, each on the thread that owns that player.
+ * On Folia a player may only be touched from their own region, so a broadcast started on another region (a confirm click)
+ * or on the global thread (a scheduled ad) hands every recipient to their entity scheduler.
+ * On Paper the hand-off runs inline on the main thread. The console belongs to no region and is sent to directly.
+ */
+public final class AdBroadcaster {
+
+    private final AdScheduler scheduler;
+
+    /**
+     * Constructs the broadcaster.
+     *
+     * @param scheduler The scheduler used to reach each recipient's thread.
+     */
+    public AdBroadcaster(final @NotNull AdScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sends the message, and optionally a sound, to every recipient.
+     *
+     * @param recipients The players to reach; must be safe to iterate from the calling thread.
+     * @param message    The message.
+     * @param sound      The sound to play with it, or null for none.
+     * @return The number of players the message was handed to.
+     */
+    public int broadcast(final @NotNull Iterable<? extends Player> recipients, final @NotNull Component message,
+                         final @Nullable Sound sound) {
+        return broadcast(recipients, player -> true, message, sound);
+    }
+
+    /**
+     * Sends the message, and optionally a sound, to every recipient that passes the filter.
+     * The filter runs on the recipient's own thread, so it may read their world or location.
+     *
+     * @param recipients The players to consider; must be safe to iterate from the calling thread.
+     * @param filter     Decides, per player, whether they receive the message.
+     * @param message    The message.
+     * @param sound      The sound to play with it, or null for none.
+     * @return The number of players the message was handed to, before filtering.
+     */
+    public int broadcast(final @NotNull Iterable<? extends Player> recipients, final @NotNull Predicate<Player> filter,
+                         final @NotNull Component message, final @Nullable Sound sound) {
+        int dispatched = 0;
+        for (final Player player : recipients) {
+            scheduler.runForEntity(player, () -> {
+                if (!filter.test(player)) {
+                    return;
+                }
+                player.sendMessage(message);
+                if (sound != null) {
+                    player.playSound(sound);
+                }
+            });
+            dispatched++;
+        }
+        return dispatched;
+    }
+
+    /**
+     * Copies a server-wide message to the console, which Server#sendMessage used to include.
+     *
+     * @param message The message.
+     */
+    public void toConsole(final @NotNull Component message) {
+        Bukkit.getConsoleSender().sendMessage(message);
+    }
+}
@@ -0,0 +1,194 @@
+package dev.oumaimaa.audience;
+
+import dev.oumaimaa.KawaiiAdPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains online players grouped by permission, so sending to a permission group
+ * costs time proportional to the number of members rather than the number of online players.
+ * Groups are updated on join, quit and world change, and re-synced periodically to pick up
+ * permission changes made by other plugins. The re-sync walks the online players a slice per tick,
+ * so a full pass is spread over the interval instead of landing in a single tick.
+ * <p>
+ * Permissions passed to {@link #track(String)} stay tracked; ones only ever looked up through
+ * {@link #getMembers(String)} are dropped again after {@link #AD_HOC_EXPIRY_MILLIS} without a lookup.
+ */
+public final class PermissionAudienceIndex implements Listener {
+
+    private static final int MAX_TRACKED_PERMISSIONS = 64;
+    private static final long AD_HOC_EXPIRY_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final KawaiiAdPlugin plugin;
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    // Re-sync progress, only touched on the global thread.
+    private List<Player> resyncPass = List.of();
+    private int resyncCursor;
+    private int resyncSliceSize;
+    private long resyncTicks;
+
+    /**
+     * Constructs the index.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public PermissionAudienceIndex(final @NotNull KawaiiAdPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts tracking a permission, populating its group from the players currently online.
+     *
+     * @param permission The permission node to track.
+     */
+    public void track(final @NotNull String permission) {
+        groups.computeIfAbsent(permission, key -> new Group(buildMembers(key))).pinned = true;
+    }
+
+    /**
+     * Returns the audience of online players holding the permission.
+     * Untracked permissions are tracked from now on, until they go unused or up to a fixed limit,
+     * after which a one-off scan is used.
+     *
+     * @param permission The permission node.
+     * @return The live set of matching players.
+     */
+    public @NotNull Set<Player> getMembers(final @NotNull String permission) {
+        Group group = groups.get(permission);
+        if (group == null) {
+            if (groups.size() >= MAX_TRACKED_PERMISSIONS) {
+                return buildMembers(permission);
+            }
+            group = groups.computeIfAbsent(permission, key -> new Group(buildMembers(key)));
+        }
+        if (!group.pinned) {
+            group.lastUsed = System.currentTimeMillis();
+        }
+        return group.members;
+    }
+
+    /**
+     * Re-evaluates every tracked permission for a single player.
+     * Call after a player's permissions are known to have changed.
+     *
+     * @param player The player to re-evaluate.
+     */
+    public void refresh(final @NotNull Player player) {
+        for (final Map.Entry<String, Group> entry : groups.entrySet()) {
+            if (player.isOnline() && player.hasPermission(entry.getKey())) {
+                entry.getValue().members.add(player);
+            } else {
+                entry.getValue().members.remove(player);
+            }
+        }
+    }
+
+    /**
+     * Re-evaluates every online player against every tracked permission, each on the thread that owns the player.
+     */
+    public void resyncAll() {
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            plugin.getAdScheduler().runForEntity(player, () -> refresh(player));
+        }
+    }
+
+    /**
+     * Starts the periodic re-sync that catches permission changes no event reports.
+     *
+     * @param intervalSeconds The time one pass over every online player is spread across; 0 or less disables it.
+     */
+    public void startResyncTask(final long intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            return;
+        }
+        final long intervalTicks = intervalSeconds * 20L;
+        plugin.getAdScheduler().runGlobalTimer(() -> resyncNextSlice(intervalTicks), 1L, 1L);
+    }
+
+    /**
+     * Re-evaluates the next slice of the current pass, each player on their own thread. Every interval a new pass starts
+     * from a copy of the online players, after expiring unused ad-hoc groups, and is sized to finish within the interval.
+     */
+    private void resyncNextSlice(final long intervalTicks) {
+        if (resyncTicks++ % intervalTicks == 0) {
+            expireAdHocGroups();
+            resyncPass = List.copyOf(Bukkit.getOnlinePlayers());
+            resyncCursor = 0;
+            resyncSliceSize = (int) Math.max(1L, (resyncPass.size() + intervalTicks - 1) / intervalTicks);
+        }
+        if (resyncCursor >= resyncPass.size()) {
+            return;
+        }
+
+        final int end = Math.min(resyncPass.size(), resyncCursor + resyncSliceSize);
+        for (; resyncCursor < end; resyncCursor++) {
+            final Player player = resyncPass.get(resyncCursor);
+            if (player.isOnline()) {
+                plugin.getAdScheduler().runForEntity(player, () -> refresh(player));
+            }
+        }
+        if (resyncCursor >= resyncPass.size()) {
+            // Do not hold on to players who may leave before the next pass.
+            resyncPass = List.of();
+            resyncCursor = 0;
+        }
+    }
+
+    private void expireAdHocGroups() {
+        final long cutoff = System.currentTimeMillis() - AD_HOC_EXPIRY_MILLIS;
+        groups.values().removeIf(group -> !group.pinned && group.lastUsed < cutoff);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(final @NotNull PlayerJoinEvent event) {
+        refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(final @NotNull PlayerChangedWorldEvent event) {
+        refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final @NotNull PlayerQuitEvent event) {
+        final Player player = event.getPlayer();
+        for (final Group group : groups.values()) {
+            group.members.remove(player);
+        }
+    }
+
+    private @NotNull Set<Player> buildMembers(final @NotNull String permission) {
+        final Set<Player> members = ConcurrentHashMap.newKeySet();
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            if (player.hasPermission(permission)) {
+                members.add(player);
+            }
+        }
+        return members;
+    }
+
+    private static final class Group {
+
+        private final Set<Player> members;
+        private volatile boolean pinned;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private Group(final Set<Player> members) {
+            this.members = members;
+        }
+    }
+}
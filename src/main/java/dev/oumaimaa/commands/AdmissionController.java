@@ -0,0 +1,88 @@
+package dev.oumaimaa.commands;
+
+import dev.oumaimaa.config.AdsConfigManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player token bucket that rejects excess ad submissions before any validation, database or scheduling work.
+ * Each bucket is a single AtomicLong holding the theoretical arrival time of the next attempt (GCRA),
+ * so admission is one CAS with no locks and no allocation after a player's first attempt.
+ */
+public final class AdmissionController implements Listener {
+
+    private final AdsConfigManager configManager;
+    private final Map<UUID, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs the admission controller.
+     *
+     * @param configManager The configuration manager supplying burst and refill settings.
+     */
+    public AdmissionController(final @NotNull AdsConfigManager configManager) {
+        this.configManager = configManager;
+    }
+
+    /**
+     * Attempts to take one token from the player's bucket.
+     *
+     * @param playerUUID The player attempting a command.
+     * @return true if the attempt is admitted, false if the player is over the limit.
+     */
+    public boolean tryAcquire(final @NotNull UUID playerUUID) {
+        final double refillPerSecond = configManager.getRateLimitRefillPerSecond();
+        if (refillPerSecond <= 0) {
+            admitted.increment();
+            return true;
+        }
+
+        final long emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        final long burstTolerance = emissionInterval * (Math.max(1, configManager.getRateLimitBurst()) - 1L);
+        final AtomicLong bucket = buckets.computeIfAbsent(playerUUID, uuid -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            final long now = System.nanoTime();
+            final long theoreticalArrival = bucket.get();
+            final long base = theoreticalArrival == Long.MIN_VALUE || theoreticalArrival - now < 0 ? now : theoreticalArrival;
+            if (base - now > burstTolerance) {
+                rejected.increment();
+                return false;
+            }
+            if (bucket.compareAndSet(theoreticalArrival, base + emissionInterval)) {
+                admitted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return The number of attempts admitted since startup.
+     */
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    /**
+     * @return The number of attempts rejected since startup.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final @NotNull PlayerQuitEvent event) {
+        buckets.remove(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,200 @@
+package dev.oumaimaa.commands;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds the Brigadier tree for /ads. The client receives the tree, so it parses subcommands locally, suggests literals without asking the server, and rejects malformed input before it is sent.
+ * Matched branches hand their parsed arguments to {@link AdsCommand}, which still owns all behaviour.
+ * <p>
+ * Brigadier commits to a literal as soon as the first word matches it, so every subcommand literal also takes a trailing
+ * message that submits the whole text as an ad: "/ads stats are great" posts "stats are great". For that reason the
+ * subcommand words are visible to every /ads user; only the branches beneath them are gated with requires(),
+ * and AdsCommand still checks permissions when a bare subcommand runs.
+ */
+public final class AdsBrigadierCommand {
+
+    private static final String ADMIN_PERMISSION = "kawaiid.admin";
+    private static final String USE_PERMISSION = "kawaiid.use";
+    private static final String MESSAGE = "message";
+
+    private final AdsCommand executor;
+    private final AdsSuggestionIndex suggestions;
+
+    /**
+     * Constructs the tree builder.
+     *
+     * @param executor    The command logic the tree dispatches to.
+     * @param suggestions The indexes backing dynamic suggestions.
+     */
+    public AdsBrigadierCommand(final @NotNull AdsCommand executor, final @NotNull AdsSuggestionIndex suggestions) {
+        this.executor = executor;
+        this.suggestions = suggestions;
+    }
+
+    /**
+     * @return The /ads command node, ready for the lifecycle command registrar.
+     */
+    public @NotNull LiteralCommandNode<CommandSourceStack> build() {
+        return Commands.literal("ads")
+                .requires(source -> source.getSender().hasPermission(USE_PERMISSION) || source.getSender().hasPermission(ADMIN_PERMISSION))
+                .executes(ctx -> run(ctx))
+                .then(Commands.literal("confirm").executes(ctx -> run(ctx, "confirm")).then(adFromSubcommand()))
+                .then(Commands.literal("cancel").executes(ctx -> run(ctx, "cancel")).then(adFromSubcommand()))
+                .then(Commands.literal("review").executes(ctx -> run(ctx, "review")).then(adFromSubcommand()))
+                .then(Commands.literal("reload").executes(ctx -> run(ctx, "reload")).then(adFromSubcommand()))
+                .then(Commands.literal("stats").executes(ctx -> run(ctx, "stats")).then(adFromSubcommand()))
+                .then(Commands.literal("trace")
+                        .then(admin(Commands.literal("dump").executes(ctx -> run(ctx, "trace", "dump"))))
+                        .then(adFromSubcommand()))
+                // Registered ahead of the message so that "/ads export backup" still exports; longer text only fits the message.
+                .then(Commands.literal("export")
+                        .executes(ctx -> run(ctx, "export"))
+                        .then(admin(Commands.argument("name", StringArgumentType.word())
+                                .executes(ctx -> run(ctx, "export", StringArgumentType.getString(ctx, "name")))))
+                        .then(adFromSubcommand()))
+                .then(Commands.literal("import")
+                        .then(admin(Commands.argument("file", StringArgumentType.word())
+                                .executes(ctx -> run(ctx, "import", StringArgumentType.getString(ctx, "file")))))
+                        .then(adFromSubcommand()))
+                .then(buildBroadcast().then(adFromSubcommand()))
+                .then(buildCooldown().then(adFromSubcommand()))
+                .then(Commands.literal("channel")
+                        .executes(ctx -> submitFromSubcommand(ctx))
+                        .then(Commands.argument("channel", StringArgumentType.word())
+                                .suggests(suggest(suggestions.channels()))
+                                // "/ads channel <word>" with nothing after it is an ordinary ad, as it always was.
+                                .executes(ctx -> submitFromSubcommand(ctx))
+                                .then(message(ctx -> StringArgumentType.getString(ctx, "channel")))))
+                .then(message(ctx -> null))
+                .build();
+    }
+
+    private LiteralArgumentBuilder<CommandSourceStack> buildBroadcast() {
+        return Commands.literal("broadcast")
+                .then(admin(Commands.literal("world")
+                        .then(Commands.argument("world", StringArgumentType.word())
+                                .suggests(suggest(suggestions.worlds()))
+                                .then(broadcastMessage("world", "world")))))
+                .then(admin(Commands.literal("perm")
+                        .then(Commands.argument("permission", StringArgumentType.word())
+                                .suggests(suggest(suggestions.permissions()))
+                                .then(broadcastMessage("perm", "permission")))));
+    }
+
+    private LiteralArgumentBuilder<CommandSourceStack> buildCooldown() {
+        return Commands.literal("cooldown")
+                .then(admin(Commands.literal("reset")
+                        .then(Commands.literal("all").executes(ctx -> run(ctx, "cooldown", "reset", "all")))
+                        .then(Commands.literal("rank")
+                                .then(Commands.argument("rank", StringArgumentType.word())
+                                        .suggests(suggest(suggestions.ranks()))
+                                        .executes(ctx -> run(ctx, "cooldown", "reset", "rank", StringArgumentType.getString(ctx, "rank")))))
+                        .then(Commands.literal("players")
+                                .then(Commands.argument("players", StringArgumentType.greedyString())
+                                        .executes(ctx -> run(ctx, players(ctx, "cooldown", "reset", "players")))))))
+                .then(admin(Commands.literal("adjust")
+                        // A word rather than a long argument, so a signed "+600" reaches AdsCommand unchanged.
+                        .then(Commands.argument("seconds", StringArgumentType.word())
+                                .then(Commands.argument("players", StringArgumentType.greedyString())
+                                        .executes(ctx -> run(ctx, players(ctx, "cooldown", "adjust",
+                                                StringArgumentType.getString(ctx, "seconds"))))))));
+    }
+
+    /**
+     * A trailing free-text message submitted as an ad, into the channel the function names or globally if it returns null.
+     * The text goes to AdsCommand as typed, never split into words.
+     */
+    private ArgumentBuilder<CommandSourceStack, ?> message(final Function<CommandContext<CommandSourceStack>, @Nullable String> channel) {
+        return Commands.argument(MESSAGE, StringArgumentType.greedyString())
+                .requires(source -> source.getSender().hasPermission(USE_PERMISSION))
+                .executes(ctx -> {
+                    executor.submit(ctx.getSource().getSender(), channel.apply(ctx), ctx.getInput(), lastNodeStart(ctx, 0));
+                    return Command.SINGLE_SUCCESS;
+                });
+    }
+
+    /**
+     * A trailing free-text message under a subcommand literal, submitting the literal and the text after it as one ad.
+     */
+    private ArgumentBuilder<CommandSourceStack, ?> adFromSubcommand() {
+        return Commands.argument(MESSAGE, StringArgumentType.greedyString())
+                .requires(source -> source.getSender().hasPermission(USE_PERMISSION))
+                .executes(ctx -> submitFromSubcommand(ctx));
+    }
+
+    /**
+     * Submits the input from the subcommand word onwards as a global ad. The subcommand is the node before the last one parsed,
+     * or the last one itself when nothing follows it.
+     */
+    private int submitFromSubcommand(final CommandContext<CommandSourceStack> ctx) {
+        final int back = ctx.getNodes().get(ctx.getNodes().size() - 1).getNode() instanceof LiteralCommandNode ? 0 : 1;
+        executor.submit(ctx.getSource().getSender(), null, ctx.getInput(), lastNodeStart(ctx, back));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    /**
+     * Broadcast text after the world or permission target, passed to AdsCommand as typed.
+     */
+    private ArgumentBuilder<CommandSourceStack, ?> broadcastMessage(final String type, final String targetArgument) {
+        return Commands.argument(MESSAGE, StringArgumentType.greedyString())
+                .executes(ctx -> {
+                    executor.broadcast(ctx.getSource().getSender(), type,
+                            StringArgumentType.getString(ctx, targetArgument), StringArgumentType.getString(ctx, MESSAGE));
+                    return Command.SINGLE_SUCCESS;
+                });
+    }
+
+    /**
+     * @return Where the parsed node the given number of places before the last one starts in the input.
+     */
+    private static int lastNodeStart(final CommandContext<CommandSourceStack> ctx, final int back) {
+        return ctx.getNodes().get(ctx.getNodes().size() - 1 - back).getRange().getStart();
+    }
+
+    /**
+     * Appends the names in the greedy "players" argument, separated by spaces and/or commas, to the leading arguments.
+     */
+    private static String[] players(final CommandContext<CommandSourceStack> ctx, final String... leading) {
+        final String names = StringArgumentType.getString(ctx, "players").strip();
+        return concat(leading, names.isEmpty() ? new String[0] : names.split("[\\s,]+"));
+    }
+
+    private static String[] concat(final String[] head, final String[] tail) {
+        final String[] args = new String[head.length + tail.length];
+        System.arraycopy(head, 0, args, 0, head.length);
+        System.arraycopy(tail, 0, args, head.length, tail.length);
+        return args;
+    }
+
+    private static <T extends ArgumentBuilder<CommandSourceStack, T>> T admin(final T node) {
+        return node.requires(source -> source.getSender().hasPermission(ADMIN_PERMISSION));
+    }
+
+    private int run(final CommandContext<CommandSourceStack> ctx, final String... args) {
+        executor.execute(ctx.getSource().getSender(), args);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static SuggestionProvider<CommandSourceStack> suggest(final CompletionIndex index) {
+        return (ctx, builder) -> {
+            final List<String> result = new ArrayList<>();
+            index.complete(builder.getRemaining(), result);
+            result.forEach(builder::suggest);
+            return builder.buildFuture();
+        };
+    }
+}
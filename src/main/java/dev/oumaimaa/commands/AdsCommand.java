@@ -1,10 +1,22 @@
 package dev.oumaimaa.commands;
 
 import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.audience.AdBroadcaster;
+import dev.oumaimaa.audience.PermissionAudienceIndex;
+import dev.oumaimaa.config.AdChannel;
 import dev.oumaimaa.config.AdsConfigManager;
 import dev.oumaimaa.data.CooldownManager;
-import me.clip.placeholderapi.PlaceholderAPI;
-import net.kyori.adventure.audience.Audience;
+import dev.oumaimaa.data.DatabaseCircuitBreaker;
+import dev.oumaimaa.data.DatabaseManager;
+import dev.oumaimaa.data.PendingAd;
+import dev.oumaimaa.jfr.AdSubmissionEvent;
+import dev.oumaimaa.jfr.BroadcastEvent;
+import dev.oumaimaa.moderation.DuplicateAdDetector;
+import dev.oumaimaa.papi.CompiledAdMessage;
+import dev.oumaimaa.scheduler.TaskHandle;
+import dev.oumaimaa.trace.AdTracer;
+import dev.oumaimaa.trace.TraceCategory;
+import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
@@ -12,35 +24,51 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
-import org.bukkit.command.Command;
-import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 
 /**
- * Command executor for the /ads command.
+ * Command logic for the /ads command, dispatched from the Brigadier tree in {@link AdsBrigadierCommand}.
  * Handles ad submission, preview, confirmation (interactive), cancellation, and cooldown checks.
  */
-public final class AdsCommand implements CommandExecutor {
+public final class AdsCommand {
 
     private final KawaiiAdPlugin plugin;
     private final AdsConfigManager configManager;
     private final CooldownManager cooldownManager;
-    private final Map<UUID, String> pendingAds;
+    private final DuplicateAdDetector duplicateAdDetector;
+    private final PermissionAudienceIndex audienceIndex;
+    private final AdBroadcaster broadcaster;
+    private final Map<UUID, PendingAd> pendingAds;
+    private final CooldownAdminCommand cooldownAdminCommand;
+    private final TransferCommand transferCommand;
     private final LegacyComponentSerializer legacySerializer = LegacyComponentSerializer.builder().character('&').hexColors().build();
 
     private static final String ADMIN_PERMISSION = "kawaiid.admin";
     private static final String USE_PERMISSION = "kawaiid.use";
     private static final String BROADCAST_WORLD_PERMISSION = "kawaiid.broadcast.world";
     private static final String BYPASS_PERMISSION = "kawaiid.bypass";
-    private static final String REVIEW_PERMISSION = "kawaiid.review";
+    public static final String REVIEW_PERMISSION = "kawaiid.review";
+
+    private static final Component CONFIRM_BUTTON = Component.text("[CONFIRM]", NamedTextColor.GREEN)
+            .clickEvent(ClickEvent.runCommand("/ads confirm"))
+            .hoverEvent(HoverEvent.showText(Component.text("Click to broadcast this ad.", NamedTextColor.GRAY)));
+    private static final Component CANCEL_BUTTON = Component.text("[CANCEL]", NamedTextColor.RED)
+            .clickEvent(ClickEvent.runCommand("/ads cancel"))
+            .hoverEvent(HoverEvent.showText(Component.text("Click to discard this ad.", NamedTextColor.GRAY)));
+    private static final Component SEPARATOR = Component.text(" | ", NamedTextColor.DARK_GRAY);
+
+    private volatile ConfirmationPrompt cachedPrompt;
 
     /**
      * Constructs the AdsCommand executor.
@@ -50,13 +78,24 @@ public final class AdsCommand implements CommandExecutor {
         this.plugin = plugin;
         this.configManager = plugin.getAdsConfigManager();
         this.cooldownManager = plugin.getCooldownManager();
+        this.duplicateAdDetector = plugin.getDuplicateAdDetector();
+        this.audienceIndex = plugin.getAudienceIndex();
+        this.broadcaster = plugin.getBroadcaster();
         this.pendingAds = plugin.getPendingAds();
+        this.cooldownAdminCommand = new CooldownAdminCommand(plugin);
+        this.transferCommand = new TransferCommand(plugin);
     }
 
-    @Override
-    public boolean onCommand(@NotNull final CommandSender sender, @NotNull final Command command, @NotNull final String label, @NotNull final String @NotNull [] args) {
+    /**
+     * Runs /ads with already-split arguments, as dispatched by the Brigadier tree.
+     *
+     * @param sender The command sender.
+     * @param args   The arguments after "/ads".
+     * @return true once the command has been handled.
+     */
+    public boolean execute(@NotNull final CommandSender sender, @NotNull final String @NotNull [] args) {
         if (args.length == 0) {
-            sender.sendMessage(configManager.getCachedUsage());
+            sender.sendMessage(configManager.getCachedUsage(sender));
             return true;
         }
 
@@ -66,16 +105,48 @@ public final class AdsCommand implements CommandExecutor {
             return handleBroadcastCommand(sender, args);
         }
 
+        if (subCommand.equals("stats") && args.length == 1) {
+            return handleStats(sender);
+        }
+
+        if (subCommand.equals("cooldown") && args.length >= 2) {
+            if (!sender.hasPermission(ADMIN_PERMISSION)) {
+                sender.sendMessage(configManager.getCachedNoPermission(sender));
+            } else {
+                cooldownAdminCommand.handle(sender, args);
+            }
+            return true;
+        }
+
+        if ((subCommand.equals("export") && args.length <= 2) || (subCommand.equals("import") && args.length == 2)) {
+            if (!sender.hasPermission(ADMIN_PERMISSION)) {
+                sender.sendMessage(configManager.getCachedNoPermission(sender));
+            } else if (subCommand.equals("export")) {
+                transferCommand.handleExport(sender, args);
+            } else {
+                transferCommand.handleImport(sender, args);
+            }
+            return true;
+        }
+
+        if (subCommand.equals("trace") && args.length == 2 && args[1].equalsIgnoreCase("dump")) {
+            return handleTraceDump(sender);
+        }
+
         if (!(sender instanceof Player player)) {
             sender.sendMessage(Component.text("Only players can submit or confirm ads.", NamedTextColor.RED));
             return true;
         }
 
         if (!player.hasPermission(USE_PERMISSION)) {
-            player.sendMessage(configManager.getCachedNoPermission());
+            player.sendMessage(configManager.getCachedNoPermission(player));
             return true;
         }
 
+        if (subCommand.equals("channel") && args.length >= 3) {
+            return handleChannelSubmission(player, args);
+        }
+
         if (args.length == 1) {
             switch (subCommand) {
                 case "confirm":
@@ -86,7 +157,7 @@ public final class AdsCommand implements CommandExecutor {
                     if (player.hasPermission(ADMIN_PERMISSION)) {
                         return handleReload(player);
                     } else {
-                        player.sendMessage(configManager.getCachedNoPermission());
+                        player.sendMessage(configManager.getCachedNoPermission(player));
                         return true;
                     }
                 case "review":
@@ -104,68 +175,191 @@ public final class AdsCommand implements CommandExecutor {
     }
 
     /**
-     * Handles player submission of a new ad message.
+     * Submits free text typed after /ads as an ad, as dispatched by the Brigadier tree's message arguments.
+     * The message is passed as the command input plus the offset it starts at, and is only cut out once the attempt is admitted.
+     *
+     * @param sender      The command sender.
+     * @param channelName The channel to submit into, or null for a global ad.
+     * @param input       The full command input.
+     * @param start       The offset of the message within the input.
+     * @return true once the command has been handled.
+     */
+    public boolean submit(@NotNull final CommandSender sender, @Nullable final String channelName,
+                          @NotNull final String input, final int start) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("Only players can submit or confirm ads.", NamedTextColor.RED));
+            return true;
+        }
+        if (!player.hasPermission(USE_PERMISSION)) {
+            player.sendMessage(configManager.getCachedNoPermission(player));
+            return true;
+        }
+        if (!admit(player)) {
+            return true;
+        }
+
+        AdChannel channel = null;
+        if (channelName != null) {
+            channel = resolveChannel(player, channelName);
+            if (channel == null) {
+                return true;
+            }
+        }
+        return recordSubmission(player, input.substring(start), channel);
+    }
+
+    /**
+     * Handles /ads channel &lt;name&gt; &lt;message...&gt;, submitting an ad into a configured channel.
+     */
+    private boolean handleChannelSubmission(final @NotNull Player player, final String[] args) {
+        if (!admit(player)) {
+            return true;
+        }
+        final AdChannel channel = resolveChannel(player, args[1]);
+        if (channel == null) {
+            return true;
+        }
+        return recordSubmission(player, String.join(" ", Arrays.copyOfRange(args, 2, args.length)), channel);
+    }
+
+    /**
+     * Looks up a channel the player may post in, telling them why when there is none.
+     */
+    private @Nullable AdChannel resolveChannel(final @NotNull Player player, final String name) {
+        final AdChannel channel = configManager.getChannel(name);
+        if (channel == null) {
+            player.sendMessage(legacySerializer.deserialize(configManager.getMessageTemplate(player, "unknown-channel",
+                    "&cThere is no ad channel called %channel%.").replace("%channel%", name)));
+            return null;
+        }
+        if (!player.hasPermission(channel.permission())) {
+            player.sendMessage(configManager.getCachedNoPermission(player));
+            return null;
+        }
+        return channel;
+    }
+
+    /**
+     * Handles /ads &lt;message...&gt;, submitting an ad to the global audience.
      */
     private boolean handleAdSubmission(final @NotNull Player player, final String[] args) {
-        final UUID playerUUID = player.getUniqueId();
-        final String adMessageRaw = String.join(" ", args);
+        if (!admit(player)) {
+            return true;
+        }
+        return recordSubmission(player, String.join(" ", args), null);
+    }
 
-        if (pendingAds.containsKey(playerUUID)) {
-            player.sendMessage(configManager.getCachedAdAlreadyPending());
+    /**
+     * Applies the per-player rate limit to a submission attempt, telling the player when it is refused.
+     * Only submissions are throttled; confirm/cancel clicks and admin subcommands are never rate-limited.
+     * Both submission paths call this first, so spammed attempts are rejected before the message is joined,
+     * the channel is looked up, or any cooldown lookup or scheduling happens.
+     *
+     * @return true if the attempt may proceed.
+     */
+    private boolean admit(final @NotNull Player player) {
+        if (plugin.getAdmissionController().tryAcquire(player.getUniqueId())) {
             return true;
         }
+        player.sendMessage(configManager.getCachedRateLimited(player));
+        return false;
+    }
+
+    /**
+     * Runs an admitted submission, recording the outcome as a JFR event.
+     */
+    private boolean recordSubmission(final @NotNull Player player, final String adMessageRaw, final @Nullable AdChannel channel) {
+        final AdSubmissionEvent event = new AdSubmissionEvent();
+        event.begin();
+        final String outcome = submitAd(player, adMessageRaw, channel);
+        if (event.shouldCommit()) {
+            event.player = player.getName();
+            event.outcome = outcome;
+            event.commit();
+        }
+        return true;
+    }
+
+    /**
+     * Runs the submission pipeline.
+     *
+     * @return A short outcome label for diagnostics.
+     */
+    private String submitAd(final @NotNull Player player, final String adMessageRaw, final @Nullable AdChannel channel) {
+        final UUID playerUUID = player.getUniqueId();
+
+        if (hasLivePendingAd(playerUUID)) {
+            player.sendMessage(configManager.getCachedAdAlreadyPending(player));
+            return "already_pending";
+        }
 
-        final long remainingCooldown = cooldownManager.getRemainingCooldown(player);
+        final long remainingCooldown = channel != null
+                ? cooldownManager.getRemainingCooldown(player, channel)
+                : cooldownManager.getRemainingCooldown(player);
+        if (remainingCooldown == CooldownManager.LOADING) {
+            player.sendMessage(legacySerializer.deserialize(configManager.getMessageTemplate(player, "cooldown-loading",
+                    "&eYour ad history is still loading. Please try again in a moment.")));
+            return "loading";
+        }
         if (remainingCooldown > 0) {
             sendActionBarCooldown(player, remainingCooldown);
-            return true;
+            return "cooldown";
         } else if (player.hasPermission(BYPASS_PERMISSION)) {
-            player.sendMessage(configManager.getCachedCooldownBypass());
+            player.sendMessage(configManager.getCachedCooldownBypass(player));
         }
 
-        final String validationError = validateAdMessage(adMessageRaw);
+        final String validationError = validateAdMessage(player, adMessageRaw);
         if (validationError != null) {
             player.sendMessage(legacySerializer.deserialize(validationError));
-            return true;
+            plugin.getTracer().trace(TraceCategory.MODERATION, "Ad by {} rejected: {}", player.getName(), validationError);
+            return "rejected";
+        }
+
+        if (isRecentDuplicate(adMessageRaw)) {
+            player.sendMessage(legacySerializer.deserialize(configManager.getMessageTemplate(player, "error-duplicate", "&cA very similar advertisement was posted recently.")));
+            plugin.getTracer().trace(TraceCategory.MODERATION, "Near-duplicate ad rejected for {}", player.getName());
+            return "duplicate";
         }
 
         if (configManager.isReviewRequired()) {
             plugin.getDatabaseManager().queueAdForReview(playerUUID, adMessageRaw);
-            player.sendMessage(configManager.getCachedAdQueuedPlayer());
+            duplicateAdDetector.record(adMessageRaw);
+            player.sendMessage(configManager.getCachedAdQueuedPlayer(player));
             alertStaffOfReview(player);
-            return true;
+            return "queued";
         }
 
-        pendingAds.put(playerUUID, adMessageRaw);
-        sendAdPreview(player, adMessageRaw);
-        scheduleTimeout(playerUUID);
-
-        if (configManager.isDebugEnabled()) {
-            plugin.getLogger().info("DEBUG: Ad submission by " + player.getName() + " pending confirmation.");
+        final CompiledAdMessage compiledAd = CompiledAdMessage.compile(adMessageRaw, legacySerializer);
+        final long now = System.currentTimeMillis();
+        final PendingAd pendingAd = new PendingAd(compiledAd,
+                configManager.getCachedAdPrefix().append(compiledAd.getLiteralComponent()),
+                now + configManager.getConfirmationTimeoutSeconds() * 1000L,
+                player.getWorld().getName(),
+                channel);
+
+        if (pendingAds.putIfAbsent(playerUUID, pendingAd) != null) {
+            player.sendMessage(configManager.getCachedAdAlreadyPending(player));
+            return "already_pending";
         }
-        return true;
+        sendAdPreview(player, pendingAd);
+        scheduleTimeout(playerUUID, pendingAd);
+
+        plugin.getTracer().trace(TraceCategory.SUBMISSION, "Ad submission by {} pending confirmation", player.getName());
+        return "pending";
     }
 
     /**
-     * Alerts staff of a pending ad review using Adventure's Audiance filtering.
+     * Alerts staff of a pending ad review using the maintained review group.
      */
     private void alertStaffOfReview(final @NotNull Player player) {
-        final Audience staff = Audience.audience(
-                Bukkit.getOnlinePlayers().stream()
-                        .filter(p -> p.hasPermission(REVIEW_PERMISSION))
-                        .collect(Collectors.toList())
-        );
-
         final Component alertMessage = configManager.getCachedAdQueuedStaff()
                 .append(Component.text(" (" + player.getName() + ")", NamedTextColor.YELLOW))
                 .clickEvent(ClickEvent.runCommand("/ads review 1"))
                 .hoverEvent(HoverEvent.showText(Component.text("Click to review the queue.", NamedTextColor.AQUA)));
 
-        staff.sendMessage(alertMessage);
+        broadcaster.broadcast(audienceIndex.getMembers(REVIEW_PERMISSION), alertMessage, null);
 
-        if (configManager.isDebugEnabled()) {
-            plugin.getLogger().info("DEBUG: Staff alerted for new ad review.");
-        }
+        plugin.getTracer().trace(TraceCategory.SUBMISSION, "Staff alerted for new ad review by {}", player.getName());
     }
 
     /**
@@ -173,7 +367,7 @@ public final class AdsCommand implements CommandExecutor {
      */
     private boolean handleBroadcastCommand(final CommandSender sender, final String[] args) {
         if (!sender.hasPermission(ADMIN_PERMISSION)) {
-            sender.sendMessage(configManager.getCachedNoPermission());
+            sender.sendMessage(configManager.getCachedNoPermission(sender));
             return true;
         }
 
@@ -182,11 +376,29 @@ public final class AdsCommand implements CommandExecutor {
             return true;
         }
 
-        final String type = args[1].toLowerCase();
-        final String target = args[2];
-        final String adMessageRaw = String.join(" ", Arrays.copyOfRange(args, 3, args.length));
+        return sendBroadcast(sender, args[1], args[2], String.join(" ", Arrays.copyOfRange(args, 3, args.length)));
+    }
+
+    /**
+     * Runs /ads broadcast with its free-text message passed straight through, as dispatched by the Brigadier tree.
+     *
+     * @param sender       The command sender.
+     * @param type         The broadcast type, world or perm.
+     * @param target       The world name or permission node.
+     * @param adMessageRaw The message to broadcast.
+     * @return true once the command has been handled.
+     */
+    public boolean broadcast(@NotNull final CommandSender sender, @NotNull final String type, @NotNull final String target,
+                             @NotNull final String adMessageRaw) {
+        if (!sender.hasPermission(ADMIN_PERMISSION)) {
+            sender.sendMessage(configManager.getCachedNoPermission(sender));
+            return true;
+        }
+        return sendBroadcast(sender, type, target, adMessageRaw);
+    }
 
-        final String validationError = validateAdMessage(adMessageRaw);
+    private boolean sendBroadcast(final CommandSender sender, final String type, final String target, final String adMessageRaw) {
+        final String validationError = validateAdMessage(sender, adMessageRaw);
         if (validationError != null) {
             sender.sendMessage(legacySerializer.deserialize(validationError));
             return true;
@@ -194,7 +406,7 @@ public final class AdsCommand implements CommandExecutor {
 
         final Component broadcastMessage = formatAdMessage(sender, adMessageRaw);
 
-        switch (type) {
+        switch (type.toLowerCase()) {
             case "world":
                 handleWorldBroadcast(sender, target, broadcastMessage);
                 break;
@@ -212,33 +424,52 @@ public final class AdsCommand implements CommandExecutor {
      */
     private boolean handleConfirm(final Player player) {
         final UUID playerUUID = player.getUniqueId();
-        final String adMessageRaw = pendingAds.remove(playerUUID);
+        final PendingAd pendingAd = pendingAds.get(playerUUID);
 
-        if (adMessageRaw == null) {
+        if (pendingAd == null || pendingAd.isExpired(System.currentTimeMillis())
+                || !pendingAd.tryTransition(PendingAd.State.CONFIRMED)) {
             player.sendMessage(Component.text("You have no pending ad to confirm.", NamedTextColor.RED));
             return true;
         }
+        pendingAds.remove(playerUUID, pendingAd);
+
+        final Component broadcastMessage = pendingAd.render(configManager.getCachedAdPrefix(), player);
+        final AdChannel channel = pendingAd.getChannel();
+
+        // This runs on the confirming player's region; every recipient is reached on their own thread instead.
+        // Global ads go to the console and every online player, channel ads to the channel's maintained permission group.
+        final Sound sound = configManager.getBroadcastSound();
+        final BroadcastEvent event = new BroadcastEvent();
+        event.begin();
+        final int recipients;
+        if (channel == null) {
+            broadcaster.toConsole(broadcastMessage);
+            recipients = broadcaster.broadcast(Bukkit.getOnlinePlayers(), broadcastMessage, sound);
+        } else if (channel.worldScoped()) {
+            final String worldName = pendingAd.getWorld();
+            recipients = broadcaster.broadcast(audienceIndex.getMembers(channel.permission()),
+                    member -> member.getWorld().getName().equals(worldName), broadcastMessage, sound);
+        } else {
+            recipients = broadcaster.broadcast(audienceIndex.getMembers(channel.permission()), broadcastMessage, sound);
+        }
+        if (event.shouldCommit()) {
+            event.scope = channel != null ? "channel:" + channel.name() : "global";
+            event.recipients = recipients;
+            event.commit();
+        }
 
-        final Component broadcastMessage = formatAdMessage(player, adMessageRaw);
-
-        // --- FINAL FIX: Combine Console and Player collection using Stream.concat ---
-        final Audience allRecipients = Audience.audience(
-                Stream.concat(
-                        Stream.of(Bukkit.getConsoleSender()), // Console Sender
-                        Bukkit.getOnlinePlayers().stream()     // All Players
-                ).collect(Collectors.toList())
-        );
-
-        allRecipients.sendMessage(broadcastMessage);
-        allRecipients.playSound(configManager.getBroadcastSound());
-
-        cooldownManager.applyCooldown(player);
+        plugin.getScheduledAdEngine().recordPlayerAd();
+        if (channel != null) {
+            cooldownManager.applyCooldown(player, channel);
+        } else {
+            cooldownManager.applyCooldown(player);
+        }
+        duplicateAdDetector.record(pendingAd.getMessage().getRaw());
 
-        player.sendMessage(configManager.getCachedAdBroadcasted());
+        player.sendMessage(configManager.getCachedAdBroadcasted(player));
 
-        if (configManager.isDebugEnabled()) {
-            plugin.getLogger().info("DEBUG: Ad confirmed and broadcasted by " + player.getName());
-        }
+        plugin.getTracer().trace(TraceCategory.BROADCAST, "Ad confirmed and broadcast by {} to {}", player.getName(),
+                channel != null ? channel.name() : "global");
         return true;
     }
 
@@ -246,11 +477,11 @@ public final class AdsCommand implements CommandExecutor {
      * Handles the /ads cancel command.
      */
     private boolean handleCancel(final Player player) {
-        if (pendingAds.remove(player.getUniqueId()) != null) {
-            player.sendMessage(configManager.getCachedAdCancelled());
-            if (configManager.isDebugEnabled()) {
-                plugin.getLogger().info("DEBUG: Ad cancelled by " + player.getName());
-            }
+        final PendingAd pendingAd = pendingAds.get(player.getUniqueId());
+        if (pendingAd != null && pendingAd.tryTransition(PendingAd.State.CANCELLED)) {
+            pendingAds.remove(player.getUniqueId(), pendingAd);
+            player.sendMessage(configManager.getCachedAdCancelled(player));
+            plugin.getTracer().trace(TraceCategory.SUBMISSION, "Ad cancelled by {}", player.getName());
         } else {
             player.sendMessage(Component.text("You have no pending ad to cancel.", NamedTextColor.RED));
         }
@@ -258,32 +489,70 @@ public final class AdsCommand implements CommandExecutor {
     }
 
     /**
-     * Handles the /ads reload command.
+     * Handles the /ads stats command, reporting load figures for staging rush tests.
      */
-    private boolean handleReload(final CommandSender sender) {
-        plugin.reloadConfig();
-        plugin.getAdsConfigManager().setupConfig();
-        sender.sendMessage(Component.text("KawaiiAD configuration reloaded.", NamedTextColor.GREEN));
-        if (configManager.isDebugEnabled()) {
-            plugin.getLogger().info("DEBUG: Config reloaded by " + sender.getName());
+    private boolean handleStats(final CommandSender sender) {
+        if (!sender.hasPermission(ADMIN_PERMISSION)) {
+            sender.sendMessage(configManager.getCachedNoPermission(sender));
+            return true;
         }
+
+        final DatabaseManager databaseManager = plugin.getDatabaseManager();
+        sender.sendMessage(Component.text("--- KawaiiAD Stats ---", NamedTextColor.GOLD));
+        sender.sendMessage(Component.text("Pending ads: " + pendingAds.size(), NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("DB queue depth: " + databaseManager.getQueuedOperations(), NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("DB writes completed/failed: " + databaseManager.getCompletedOperations()
+                + "/" + databaseManager.getFailedOperations(), NamedTextColor.YELLOW));
+        final boolean dbHealthy = databaseManager.getCircuitState() == DatabaseCircuitBreaker.State.CLOSED;
+        sender.sendMessage(Component.text("DB circuit: " + databaseManager.getCircuitState()
+                + (dbHealthy ? "" : " (memory only)") + ", replay queue: " + databaseManager.getReplayQueueSize()
+                + ", dropped: " + databaseManager.getDroppedWrites(), dbHealthy ? NamedTextColor.YELLOW : NamedTextColor.RED));
+        sender.sendMessage(Component.text("Attempts admitted/rate-limited: " + plugin.getAdmissionController().getAdmittedCount()
+                + "/" + plugin.getAdmissionController().getRejectedCount(), NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("Scheduled ads in rotation: " + plugin.getScheduledAdEngine().size(), NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text(String.format("Server MSPT: %.2f ms", Bukkit.getAverageTickTime()), NamedTextColor.YELLOW));
         return true;
     }
 
     /**
-     * Applies PAPI expansion and formatting to the raw message.
+     * Handles /ads trace dump: copies the trace buffer here and formats and writes it off-thread.
      */
-    private Component formatAdMessage(final CommandSender sender, final String adMessageRaw) {
-        final Component adPrefix = configManager.getCachedAdPrefix();
-        String processedMessage = adMessageRaw;
-
-        if (Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
-            final Player player = (sender instanceof Player p) ? p : null;
-            processedMessage = PlaceholderAPI.setPlaceholders(player, processedMessage);
+    private boolean handleTraceDump(final CommandSender sender) {
+        if (!sender.hasPermission(ADMIN_PERMISSION)) {
+            sender.sendMessage(configManager.getCachedNoPermission(sender));
+            return true;
         }
 
-        final Component messageComponent = legacySerializer.deserialize(processedMessage);
-        return adPrefix.append(messageComponent);
+        final List<AdTracer.TraceEvent> events = plugin.getTracer().snapshot();
+        plugin.getAdScheduler().runAsync(() -> {
+            Component result;
+            try {
+                final File file = plugin.getTracer().writeDump(events);
+                result = Component.text("Wrote " + events.size() + " trace events to " + file.getName(), NamedTextColor.GREEN);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not write trace dump: " + e.getMessage());
+                result = Component.text("Could not write trace dump: " + e.getMessage(), NamedTextColor.RED);
+            }
+            final Component message = result;
+            plugin.getAdScheduler().runForSender(sender, () -> sender.sendMessage(message));
+        });
+        return true;
+    }
+
+    /**
+     * Handles the /ads reload command.
+     */
+    private boolean handleReload(final CommandSender sender) {
+        plugin.reloadConfiguration(sender);
+        return true;
+    }
+
+    /**
+     * Compiles the raw message once and resolves its PAPI placeholders against the sender.
+     */
+    private Component formatAdMessage(final CommandSender sender, final String adMessageRaw) {
+        final Player player = (sender instanceof Player p) ? p : null;
+        return configManager.getCachedAdPrefix().append(CompiledAdMessage.compile(adMessageRaw, legacySerializer).render(player));
     }
 
     private void handleWorldBroadcast(final CommandSender sender, final String worldName, final Component message) {
@@ -293,91 +562,97 @@ public final class AdsCommand implements CommandExecutor {
             return;
         }
         if (!sender.hasPermission(BROADCAST_WORLD_PERMISSION)) {
-            sender.sendMessage(configManager.getCachedNoPermission());
+            sender.sendMessage(configManager.getCachedNoPermission(sender));
             return;
         }
 
-        world.sendMessage(message);
+        final BroadcastEvent event = new BroadcastEvent();
+        event.begin();
+        // A player's world may only be read on their own thread, so the world check runs there.
+        final int recipients = broadcaster.broadcast(Bukkit.getOnlinePlayers(), player -> player.getWorld().equals(world), message, null);
+        if (event.shouldCommit()) {
+            event.scope = "world";
+            event.recipients = recipients;
+            event.commit();
+        }
         sender.sendMessage(Component.text("Broadcasted to world: " + worldName, NamedTextColor.GREEN));
     }
 
     private void handlePermissionBroadcast(final CommandSender sender, final String permission, final Component message) {
-        Bukkit.getOnlinePlayers().stream()
-                .filter(p -> p.hasPermission(permission))
-                .forEach(p -> p.sendMessage(message));
+        final BroadcastEvent event = new BroadcastEvent();
+        event.begin();
+        final int recipients = broadcaster.broadcast(audienceIndex.getMembers(permission), message, null);
+        if (event.shouldCommit()) {
+            event.scope = "perm";
+            event.recipients = recipients;
+            event.commit();
+        }
 
         sender.sendMessage(Component.text("Broadcasted to players with permission: " + permission, NamedTextColor.GREEN));
     }
 
-    private String validateAdMessage(final String message) {
-        final int minChars = configManager.getMinLength();
-        final int maxChars = configManager.getMaxLength();
-
-        if (message.length() < minChars) {
-            return configManager.getConfig().getString("messages.error-too-short", "&cAd must be at least %min% characters.")
-                    .replace("%min%", String.valueOf(minChars));
-        }
-        if (message.length() > maxChars) {
-            return configManager.getConfig().getString("messages.error-too-long", "&cAd must be no more than %max% characters.")
-                    .replace("%max%", String.valueOf(maxChars));
-        }
+    private String validateAdMessage(final CommandSender viewer, final String message) {
+        return plugin.getModerationChain().check(viewer, message);
+    }
 
-        for (final String word : configManager.getProfanityFilter()) {
-            if (message.toLowerCase().contains(word.toLowerCase())) {
-                return configManager.getConfig().getString("messages.error-profanity", "&cAdvertisement contains blacklisted words.");
-            }
+    /**
+     * Checks the message against recently accepted ads when duplicate detection is enabled.
+     */
+    private boolean isRecentDuplicate(final String message) {
+        if (!configManager.isDuplicateDetectionEnabled()) {
+            return false;
         }
+        return duplicateAdDetector.isNearDuplicate(message,
+                configManager.getDuplicateMaxDistance(),
+                configManager.getDuplicateWindowSeconds() * 1000L);
+    }
 
-        return null;
+    private void sendAdPreview(final Player player, final PendingAd pendingAd) {
+        player.sendMessage(configManager.getCachedPreviewHeader(player));
+        player.sendMessage(pendingAd.getBroadcastComponent());
+        player.sendMessage(configManager.getCachedPreviewFooter(player));
+        player.sendMessage(getConfirmationPrompt());
     }
 
-    private void sendAdPreview(final Player player, final String adMessageRaw) {
+    /**
+     * Returns the CONFIRM/CANCEL prompt, rebuilding it only when the configured timeout changes.
+     * The timeout and component are published together in one volatile field, since region threads call this concurrently.
+     */
+    private Component getConfirmationPrompt() {
         final long timeout = configManager.getConfirmationTimeoutSeconds();
-
-        player.sendMessage(configManager.getCachedPreviewHeader());
-
-        final Component adPrefix = configManager.getCachedAdPrefix();
-        final Component previewAd = adPrefix.append(legacySerializer.deserialize(adMessageRaw));
-        player.sendMessage(previewAd);
-
-        player.sendMessage(configManager.getCachedPreviewFooter());
-
-        final Component confirmButton = Component.text("[CONFIRM]", NamedTextColor.GREEN)
-                .clickEvent(ClickEvent.runCommand("/ads confirm"))
-                .hoverEvent(HoverEvent.showText(Component.text("Click to broadcast this ad.", NamedTextColor.GRAY)));
-
-        final Component cancelButton = Component.text("[CANCEL]", NamedTextColor.RED)
-                .clickEvent(ClickEvent.runCommand("/ads cancel"))
-                .hoverEvent(HoverEvent.showText(Component.text("Click to discard this ad.", NamedTextColor.GRAY)));
-
+        final ConfirmationPrompt current = cachedPrompt;
+        if (current != null && current.timeoutSeconds() == timeout) {
+            return current.component();
+        }
         final Component prompt = Component.text("")
                 .append(Component.text("Timeout: ", NamedTextColor.GRAY))
                 .append(Component.text(timeout + "s", NamedTextColor.YELLOW))
-                .append(Component.text(" | ", NamedTextColor.DARK_GRAY))
-                .append(confirmButton)
-                .append(Component.text(" | ", NamedTextColor.DARK_GRAY))
-                .append(cancelButton);
-
-        player.sendMessage(prompt);
+                .append(SEPARATOR)
+                .append(CONFIRM_BUTTON)
+                .append(SEPARATOR)
+                .append(CANCEL_BUTTON);
+        cachedPrompt = new ConfirmationPrompt(timeout, prompt);
+        return prompt;
     }
 
     /**
      * Sends the remaining cooldown time to the player's Action Bar.
      */
     private void sendActionBarCooldown(final Player player, final long remainingSeconds) {
-        final Component message = configManager.getMessage("on-cooldown",
+        final Component message = configManager.getMessage(player, "on-cooldown",
                 "<time_remaining>", cooldownManager.formatTime(remainingSeconds));
 
-        // Start a short, repeating task to display the message
-        Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
+        // Start a short, repeating task on the player's own thread to display the message
+        plugin.getAdScheduler().runForEntityTimer(player, new Consumer<>() {
             private final int maxTicks = 60; // Display for 3 seconds (60 ticks)
             private int counter = 0;
 
             @Override
-            public void run() {
+            public void accept(final TaskHandle task) {
                 if (counter >= maxTicks || !player.isOnline()) {
                     player.sendActionBar(Component.empty());
-                    throw new RuntimeException("Stop task");
+                    task.cancel();
+                    return;
                 }
                 player.sendActionBar(message);
                 counter++;
@@ -385,18 +660,41 @@ public final class AdsCommand implements CommandExecutor {
         }, 0L, 1L);
     }
 
-    private void scheduleTimeout(final UUID playerUUID) {
+    /**
+     * Checks for a pending ad that can still be confirmed, clearing out one that has already expired.
+     */
+    private boolean hasLivePendingAd(final UUID playerUUID) {
+        final PendingAd existing = pendingAds.get(playerUUID);
+        if (existing == null) {
+            return false;
+        }
+        if (existing.isExpired(System.currentTimeMillis()) && existing.tryTransition(PendingAd.State.EXPIRED)) {
+            pendingAds.remove(playerUUID, existing);
+            return false;
+        }
+        return existing.getState() == PendingAd.State.PENDING;
+    }
+
+    /**
+     * Expires this specific pending ad. The task holds this exact instance and removes the entry only if it
+     * still maps to it, so it can neither remove a newer ad submitted after this one ended nor race a confirm or cancel.
+     */
+    private void scheduleTimeout(final UUID playerUUID, final PendingAd pendingAd) {
         final long timeoutTicks = configManager.getConfirmationTimeoutSeconds() * 20L;
 
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (pendingAds.containsKey(playerUUID)) {
-                pendingAds.remove(playerUUID);
+        plugin.getAdScheduler().runGlobalLater(() -> {
+            if (!pendingAd.tryTransition(PendingAd.State.EXPIRED)) {
+                return;
+            }
+            pendingAds.remove(playerUUID, pendingAd);
 
-                final Player player = Bukkit.getPlayer(playerUUID);
-                if (player != null && player.isOnline()) {
-                    player.sendMessage(configManager.getCachedAdTimeout());
-                }
+            final Player player = Bukkit.getPlayer(playerUUID);
+            if (player != null && player.isOnline()) {
+                plugin.getAdScheduler().runForEntity(player, () -> player.sendMessage(configManager.getCachedAdTimeout(player)));
             }
         }, timeoutTicks);
     }
+
+    private record ConfirmationPrompt(long timeoutSeconds, Component component) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package dev.oumaimaa.commands;
+
+import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.config.AdsConfigManager;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.permissions.Permission;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Holds the dynamic suggestion candidates for the /ads command tree: world names, permission targets,
+ * channel names and rank names. Candidates are served from prefix indexes that are updated as worlds load and unload
+ * and rebuilt on config reload, so a suggestion request never walks the server's worlds or the configuration.
+ */
+public final class AdsSuggestionIndex implements Listener {
+
+    private static final String RANK_PREFIX = "kawaiid.cooldown.";
+
+    private final KawaiiAdPlugin plugin;
+    private final CompletionIndex worlds = new CompletionIndex();
+    private final CompletionIndex permissions = new CompletionIndex();
+    private final CompletionIndex channels = new CompletionIndex();
+    private final CompletionIndex ranks = new CompletionIndex();
+
+    /**
+     * Constructs the index and builds the initial candidates.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public AdsSuggestionIndex(final @NotNull KawaiiAdPlugin plugin) {
+        this.plugin = plugin;
+        worlds.replaceAll(Bukkit.getWorlds().stream().map(World::getName).toList());
+        refresh();
+    }
+
+    /**
+     * Rebuilds every index from plugin.yml, the configured rank cooldowns, quotas and channels.
+     * Called on enable and after every config reload.
+     */
+    public void refresh() {
+        final AdsConfigManager config = plugin.getAdsConfigManager();
+        channels.replaceAll(config.getChannels().keySet());
+
+        final Set<String> rankNodes = new HashSet<>(config.getRankCooldowns().keySet());
+        rankNodes.addAll(config.getRankQuotas().keySet());
+        ranks.replaceAll(rankNodes.stream().map(node -> node.substring(RANK_PREFIX.length())).toList());
+
+        final Set<String> nodes = new HashSet<>(rankNodes);
+        config.getChannels().values().forEach(channel -> nodes.add(channel.permission()));
+        for (final Permission permission : plugin.getPluginMeta().getPermissions()) {
+            nodes.add(permission.getName());
+        }
+        permissions.replaceAll(nodes);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldLoad(final @NotNull WorldLoadEvent event) {
+        worlds.add(event.getWorld().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(final @NotNull WorldUnloadEvent event) {
+        worlds.remove(event.getWorld().getName());
+    }
+
+    @NotNull CompletionIndex worlds() {
+        return worlds;
+    }
+
+    @NotNull CompletionIndex permissions() {
+        return permissions;
+    }
+
+    @NotNull CompletionIndex channels() {
+        return channels;
+    }
+
+    @NotNull CompletionIndex ranks() {
+        return ranks;
+    }
+}
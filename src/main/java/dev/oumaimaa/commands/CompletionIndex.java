@@ -0,0 +1,92 @@
+package dev.oumaimaa.commands;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A case-insensitive, prefix-searchable set of completion candidates.
+ * Entries are kept in a sorted array snapshot that is swapped on every update, so lookups
+ * are a binary search plus a scan of the matching range and allocate nothing but the caller's result list.
+ */
+final class CompletionIndex {
+
+    private volatile String[] entries = new String[0];
+
+    /**
+     * Replaces every entry in the index.
+     *
+     * @param values The new candidates.
+     */
+    synchronized void replaceAll(final @NotNull Collection<String> values) {
+        final String[] sorted = values.stream().distinct().toArray(String[]::new);
+        Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+        this.entries = sorted;
+    }
+
+    /**
+     * Adds a single candidate if it is not already present.
+     *
+     * @param value The candidate to add.
+     */
+    synchronized void add(final @NotNull String value) {
+        final String[] current = entries;
+        final int index = Arrays.binarySearch(current, value, String.CASE_INSENSITIVE_ORDER);
+        if (index >= 0) {
+            return;
+        }
+        final int insertAt = -index - 1;
+        final String[] updated = new String[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, insertAt);
+        updated[insertAt] = value;
+        System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+        this.entries = updated;
+    }
+
+    /**
+     * Removes a single candidate if present.
+     *
+     * @param value The candidate to remove.
+     */
+    synchronized void remove(final @NotNull String value) {
+        final String[] current = entries;
+        final int index = Arrays.binarySearch(current, value, String.CASE_INSENSITIVE_ORDER);
+        if (index < 0) {
+            return;
+        }
+        final String[] updated = new String[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        this.entries = updated;
+    }
+
+    /**
+     * Appends every candidate starting with the given prefix, ignoring case, to the result list.
+     *
+     * @param prefix The typed prefix.
+     * @param result The list that receives matching candidates in sorted order.
+     */
+    void complete(final @NotNull String prefix, final @NotNull List<String> result) {
+        final String[] snapshot = entries;
+        int low = 0;
+        int high = snapshot.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(snapshot[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int i = low; i < snapshot.length; i++) {
+            final String candidate = snapshot[i];
+            if (!candidate.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                break;
+            }
+            result.add(candidate);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package dev.oumaimaa.commands;
+
+import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.config.AdsConfigManager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Handles the bulk /ads cooldown admin subcommands.
+ * Targets are resolved on the calling thread from memory only; the database work runs as one transaction
+ * on the async scheduler, and the cooldown cache is invalidated as soon as it commits. Saves for the targets that
+ * were still queued when the transaction started are skipped, so they cannot restore a reset cooldown.
+ */
+final class CooldownAdminCommand {
+
+    private static final String USAGE = "Usage: /ads cooldown reset <all|rank <rank>|players <name...>> | adjust <±seconds> <name...>";
+
+    private final KawaiiAdPlugin plugin;
+    private final AdsConfigManager configManager;
+
+    CooldownAdminCommand(final @NotNull KawaiiAdPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getAdsConfigManager();
+    }
+
+    /**
+     * @param sender The admin running the command.
+     * @param args   The full /ads arguments, starting with "cooldown".
+     */
+    void handle(final @NotNull CommandSender sender, final @NotNull String @NotNull [] args) {
+        if (args.length < 3) {
+            sender.sendMessage(Component.text(USAGE, NamedTextColor.RED));
+            return;
+        }
+
+        final String action = args[1].toLowerCase(Locale.ROOT);
+        if (action.equals("reset")) {
+            handleReset(sender, args);
+        } else if (action.equals("adjust") && args.length >= 4) {
+            handleAdjust(sender, args);
+        } else {
+            sender.sendMessage(Component.text(USAGE, NamedTextColor.RED));
+        }
+    }
+
+    private void handleReset(final CommandSender sender, final String[] args) {
+        final String scope = args[2].toLowerCase(Locale.ROOT);
+        if (scope.equals("all") && args.length == 3) {
+            runBulk(sender, "Reset all cooldowns", () -> {
+                final int affected = plugin.getDatabaseManager().resetAllCooldowns();
+                plugin.getCooldownManager().invalidateAll();
+                return affected;
+            });
+            return;
+        }
+
+        final Set<UUID> targets;
+        if (scope.equals("rank") && args.length == 4) {
+            targets = new HashSet<>();
+            for (final Player member : plugin.getAudienceIndex().getMembers("kawaiid.cooldown." + args[3].toLowerCase(Locale.ROOT))) {
+                targets.add(member.getUniqueId());
+            }
+        } else if (scope.equals("players") && args.length >= 4) {
+            targets = resolvePlayers(sender, args, 3);
+        } else {
+            sender.sendMessage(Component.text(USAGE, NamedTextColor.RED));
+            return;
+        }
+
+        if (targets.isEmpty()) {
+            sender.sendMessage(Component.text("No matching players.", NamedTextColor.YELLOW));
+            return;
+        }
+        runBulk(sender, "Reset cooldowns of " + targets.size() + " players", () -> {
+            final int affected = plugin.getDatabaseManager().resetCooldowns(targets);
+            plugin.getCooldownManager().invalidate(targets);
+            return affected;
+        });
+    }
+
+    private void handleAdjust(final CommandSender sender, final String[] args) {
+        final long seconds;
+        try {
+            seconds = Long.parseLong(args[2].startsWith("+") ? args[2].substring(1) : args[2]);
+        } catch (NumberFormatException e) {
+            sender.sendMessage(Component.text("Not a number of seconds: " + args[2], NamedTextColor.RED));
+            return;
+        }
+
+        final Set<UUID> targets = resolvePlayers(sender, args, 3);
+        if (targets.isEmpty()) {
+            sender.sendMessage(Component.text("No matching players.", NamedTextColor.YELLOW));
+            return;
+        }
+        runBulk(sender, "Adjusted cooldowns of " + targets.size() + " players by " + seconds + "s", () -> {
+            final int affected = plugin.getDatabaseManager().adjustCooldowns(targets, seconds * 1000L);
+            plugin.getCooldownManager().invalidate(targets);
+            return affected;
+        });
+    }
+
+    /**
+     * Resolves names to UUIDs using only players the server has already seen, so no profile lookup can block.
+     */
+    private Set<UUID> resolvePlayers(final CommandSender sender, final String[] args, final int from) {
+        final Set<UUID> targets = new HashSet<>();
+        final List<String> unknown = new ArrayList<>();
+        for (int i = from; i < args.length; i++) {
+            for (final String name : args[i].split("[\\s,]+")) {
+                if (name.isEmpty()) {
+                    continue;
+                }
+                final OfflinePlayer player = Bukkit.getOfflinePlayerIfCached(name);
+                if (player != null) {
+                    targets.add(player.getUniqueId());
+                } else {
+                    unknown.add(name);
+                }
+            }
+        }
+        if (!unknown.isEmpty()) {
+            sender.sendMessage(Component.text("Skipped unknown players: " + String.join(", ", unknown), NamedTextColor.YELLOW));
+        }
+        return targets;
+    }
+
+    private void runBulk(final CommandSender sender, final String description, final BulkOperation operation) {
+        plugin.getAdScheduler().runAsync(() -> {
+            Component result;
+            try {
+                final int affected = operation.run();
+                result = Component.text(description + ": " + affected + " cooldown rows affected.", NamedTextColor.GREEN);
+            } catch (SQLException e) {
+                plugin.getLogger().warning(description + " failed: " + e.getMessage());
+                result = Component.text(description + " failed: " + e.getMessage(), NamedTextColor.RED);
+            }
+            final Component message = result;
+            plugin.getAdScheduler().runForSender(sender, () -> sender.sendMessage(message));
+        });
+    }
+
+    @FunctionalInterface
+    private interface BulkOperation {
+        int run() throws SQLException;
+    }
+}
@@ -24,6 +24,8 @@ public final class HelpCommand implements CommandExecutor {
 
         sender.sendMessage(createHelpLine("/ads <message>", "Submit an ad for confirmation.", "kawaiid.use"));
 
+        sender.sendMessage(createHelpLine("/ads channel <name> <message>", "Submit an ad into a channel with its own cooldown.", "kawaiid.channel.<name>"));
+
         sender.sendMessage(createHelpLine("/ads confirm", "Confirm your pending ad.", "kawaiid.use"));
         sender.sendMessage(createHelpLine("/ads cancel", "Cancel your pending ad.", "kawaiid.use"));
 
@@ -31,6 +33,14 @@ public final class HelpCommand implements CommandExecutor {
             sender.sendMessage(Component.text("--- Admin Commands ---", NamedTextColor.GOLD));
             sender.sendMessage(createHelpLine("/ads reload", "Reloads the configuration.", "kawaiid.admin"));
             sender.sendMessage(createHelpLine("/ads broadcast", "Send an immediate, non-cooldown ad.", "kawaiid.admin"));
+            sender.sendMessage(createHelpLine("/ads cooldown reset all", "Clears every player's cooldowns.", "kawaiid.admin"));
+            sender.sendMessage(createHelpLine("/ads cooldown reset rank <rank>", "Clears cooldowns of online players with a rank. Ranks come from permissions, so offline players are not reset; use 'players' for them.", "kawaiid.admin"));
+            sender.sendMessage(createHelpLine("/ads cooldown reset players <players>", "Clears cooldowns of listed players, including offline ones who have joined before.", "kawaiid.admin"));
+            sender.sendMessage(createHelpLine("/ads cooldown adjust <±seconds> <players>", "Lengthens or shortens cooldowns of listed players.", "kawaiid.admin"));
+            sender.sendMessage(createHelpLine("/ads export [name]", "Streams cooldowns and the review queue to exports/.", "kawaiid.admin"));
+            sender.sendMessage(createHelpLine("/ads import <file>", "Merges an export from exports/ into the database.", "kawaiid.admin"));
+            sender.sendMessage(createHelpLine("/ads trace dump", "Writes the in-memory debug trace to a file.", "kawaiid.admin"));
+            sender.sendMessage(createHelpLine("/ads stats", "Shows pending ads, DB queue depth and MSPT.", "kawaiid.admin"));
         }
 
         sender.sendMessage(Component.text("PAPI: %kawaiiads_cooldown_remaining%", NamedTextColor.AQUA)
@@ -0,0 +1,112 @@
+package dev.oumaimaa.commands;
+
+import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.data.DataTransfer;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Handles /ads export [name] and /ads import &lt;file&gt;.
+ * Transfers run entirely on the async scheduler, one at a time, with progress relayed to the sender on the global thread.
+ */
+final class TransferCommand {
+
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+    private static final String EXTENSION = ".kadx";
+
+    private final KawaiiAdPlugin plugin;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    TransferCommand(final @NotNull KawaiiAdPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    void handleExport(final @NotNull CommandSender sender, final @NotNull String @NotNull [] args) {
+        final String name = args.length >= 2 ? args[1] : "kawaiiad-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        final File file = resolve(sender, name);
+        if (file == null || !claim(sender)) {
+            return;
+        }
+
+        sender.sendMessage(Component.text("Exporting to " + file.getName() + "...", NamedTextColor.YELLOW));
+        plugin.getAdScheduler().runAsync(() -> {
+            try {
+                final long rows = new DataTransfer(plugin.getDatabaseManager()).exportTo(file, (table, count, finished) -> report(sender, "Exported", table, count, finished));
+                notify(sender, Component.text("Export finished: " + rows + " rows written to " + file.getName(), NamedTextColor.GREEN));
+            } catch (IOException | SQLException e) {
+                plugin.getLogger().warning("Export to " + file.getName() + " failed: " + e.getMessage());
+                notify(sender, Component.text("Export failed: " + e.getMessage(), NamedTextColor.RED));
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    void handleImport(final @NotNull CommandSender sender, final @NotNull String @NotNull [] args) {
+        if (args.length != 2) {
+            sender.sendMessage(Component.text("Usage: /ads import <file>", NamedTextColor.RED));
+            return;
+        }
+        final File file = resolve(sender, args[1]);
+        if (file == null) {
+            return;
+        }
+        if (!file.isFile()) {
+            sender.sendMessage(Component.text("No export named " + file.getName() + " in the exports folder.", NamedTextColor.RED));
+            return;
+        }
+        if (!claim(sender)) {
+            return;
+        }
+
+        sender.sendMessage(Component.text("Importing " + file.getName() + "...", NamedTextColor.YELLOW));
+        plugin.getAdScheduler().runAsync(() -> {
+            try {
+                final long rows = new DataTransfer(plugin.getDatabaseManager()).importFrom(file, (table, count, finished) -> report(sender, "Imported", table, count, finished));
+                notify(sender, Component.text("Import finished: " + rows + " rows merged from " + file.getName(), NamedTextColor.GREEN));
+            } catch (IOException | SQLException e) {
+                plugin.getLogger().warning("Import from " + file.getName() + " failed: " + e.getMessage());
+                notify(sender, Component.text("Import failed: " + e.getMessage(), NamedTextColor.RED));
+            } finally {
+                // Committed batches may have changed any player's cooldown, including on partial failure.
+                plugin.getCooldownManager().invalidateAll();
+                running.set(false);
+            }
+        });
+    }
+
+    private File resolve(final CommandSender sender, final String name) {
+        if (!FILE_NAME.matcher(name).matches()) {
+            sender.sendMessage(Component.text("File names may only contain letters, digits, '.', '-' and '_'.", NamedTextColor.RED));
+            return null;
+        }
+        final String fileName = name.endsWith(EXTENSION) ? name : name + EXTENSION;
+        return new File(new File(plugin.getDataFolder(), "exports"), fileName);
+    }
+
+    private boolean claim(final CommandSender sender) {
+        if (!running.compareAndSet(false, true)) {
+            sender.sendMessage(Component.text("Another export or import is already running.", NamedTextColor.RED));
+            return false;
+        }
+        return true;
+    }
+
+    private void report(final CommandSender sender, final String verb, final String table, final long rows, final boolean finished) {
+        notify(sender, Component.text(verb + " " + rows + " rows from " + table + (finished ? " (done)" : "..."), NamedTextColor.GRAY));
+    }
+
+    private void notify(final CommandSender sender, final Component message) {
+        plugin.getAdScheduler().runForSender(sender, () -> sender.sendMessage(message));
+    }
+}
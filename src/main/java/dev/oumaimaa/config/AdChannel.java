@@ -0,0 +1,14 @@
+package dev.oumaimaa.config;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A named ad channel players can post into with /ads channel, each with its own cooldown.
+ *
+ * @param name            The channel name, also used as its cooldown key.
+ * @param permission      The permission needed to post into and receive the channel.
+ * @param worldScoped     true if ads only reach players in the submitter's world.
+ * @param cooldownSeconds The per-player cooldown for this channel.
+ */
+public record AdChannel(@NotNull String name, @NotNull String permission, boolean worldScoped, long cooldownSeconds) {
+}
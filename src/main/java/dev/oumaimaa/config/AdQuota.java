@@ -0,0 +1,17 @@
+package dev.oumaimaa.config;
+
+/**
+ * A sliding-window ad quota: at most {@code ads} ads in any {@code windowSeconds} period.
+ *
+ * @param ads           The number of ads allowed per window.
+ * @param windowSeconds The window length in seconds.
+ */
+public record AdQuota(int ads, long windowSeconds) {
+
+    /**
+     * @return The average seconds per ad, used to pick the most generous of several quotas.
+     */
+    public double secondsPerAd() {
+        return (double) windowSeconds / ads;
+    }
+}
@@ -1,43 +1,53 @@
 package dev.oumaimaa.config;
 
 import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.moderation.DomainWhitelist;
+import dev.oumaimaa.moderation.ModerationChain;
+import dev.oumaimaa.trace.TraceCategory;
+import net.kyori.adventure.key.InvalidKeyException;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.sound.Sound.Source;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
-
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
  * Manages plugin configuration, providing type-safe access to settings
  * and handling color code translation for messages. Optimizes performance by caching static messages.
+ * <p>
+ * All settings live in one immutable snapshot that is rebuilt off-thread on reload and published with a
+ * single volatile write, so readers never observe a half-reloaded configuration.
  */
 public final class AdsConfigManager {
 
     private final KawaiiAdPlugin plugin;
     private final LegacyComponentSerializer serializer = LegacyComponentSerializer.builder().character('&').hexColors().build();
-    private FileConfiguration config;
-    private Map<String, Long> rankCooldowns = Collections.emptyMap();
-
-    private Component cachedNoPermission;
-    private Component cachedCooldownBypass;
-    private Component cachedPreviewHeader;
-    private Component cachedPreviewFooter;
-    private Component cachedAdBroadcasted;
-    private Component cachedAdCancelled;
-    private Component cachedAdTimeout;
-    private Component cachedAdAlreadyPending;
-    private Component cachedUsage;
-    private Component cachedAdPrefix;
-    private Component cachedAdQueuedStaff; // New cached component
-    private Component cachedAdQueuedPlayer; // New cached component
+    private volatile Snapshot snapshot;
 
     /**
      * Constructs the Configuration Manager.
@@ -48,157 +58,557 @@ public final class AdsConfigManager {
         this.plugin = plugin;
     }
 
+    /**
+     * Performs the initial, synchronous load during plugin enable.
+     */
     public void setupConfig() {
         plugin.saveDefaultConfig();
-        this.config = plugin.getConfig();
-        loadCooldowns();
-        loadCachedMessages();
+        this.snapshot = new Snapshot(plugin.getConfig(), getLanguageFolder(), serializer);
     }
 
-    private void loadCooldowns() {
-        final Map<String, Long> tempCooldowns = new HashMap<>();
-        final ConfigurationSection section = config.getConfigurationSection("cooldowns.ranks");
+    /**
+     * Reads, parses and validates config.yml from disk and, if valid, publishes it as the active configuration.
+     * Safe to call from any thread; concurrent reloads are serialized.
+     *
+     * @return null on success, otherwise a description of why the new config was rejected.
+     */
+    public synchronized @Nullable String reloadFromDisk() {
+        final File file = new File(plugin.getDataFolder(), "config.yml");
+        final YamlConfiguration loaded = new YamlConfiguration();
+        try {
+            loaded.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            return "Could not parse config.yml: " + e.getMessage();
+        }
 
-        if (section != null) {
-            for (final String key : section.getKeys(false)) {
-                final String permission = "kawaiid.cooldown." + key.toLowerCase();
-                final long timeInSeconds = config.getLong("cooldowns.ranks." + key, getDefaultCooldown());
-                tempCooldowns.put(permission, timeInSeconds);
+        try (InputStream defaults = plugin.getResource("config.yml")) {
+            if (defaults != null) {
+                try (Reader reader = new InputStreamReader(defaults, StandardCharsets.UTF_8)) {
+                    loaded.setDefaults(YamlConfiguration.loadConfiguration(reader));
+                }
             }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not read bundled config defaults: " + e.getMessage());
         }
-        this.rankCooldowns = Collections.unmodifiableMap(tempCooldowns);
+
+        final Snapshot rebuilt;
+        try {
+            rebuilt = new Snapshot(loaded, getLanguageFolder(), serializer);
+        } catch (IllegalArgumentException e) {
+            return "Invalid config.yml: " + e.getMessage();
+        }
+
+        this.snapshot = rebuilt;
+        return null;
     }
 
-    /**
-     * Loads and caches static messages into Component objects for performance.
-     */
-    private void loadCachedMessages() {
-        this.cachedNoPermission = loadStaticComponent("messages.no-permission");
-        this.cachedCooldownBypass = loadStaticComponent("messages.cooldown-bypass");
-        this.cachedPreviewHeader = loadStaticComponent("messages.preview-header");
-        this.cachedPreviewFooter = loadStaticComponent("messages.preview-footer");
-        this.cachedAdBroadcasted = loadStaticComponent("messages.ad-broadcasted");
-        this.cachedAdCancelled = loadStaticComponent("messages.ad-cancelled");
-        this.cachedAdTimeout = loadStaticComponent("messages.ad-timeout");
-        this.cachedAdAlreadyPending = loadStaticComponent("messages.ad-already-pending");
-        this.cachedUsage = loadStaticComponent("messages.usage");
-        this.cachedAdPrefix = loadStaticComponent("messages.preview-ad-prefix");
-        this.cachedAdQueuedStaff = loadStaticComponent("messages.ad-queued-staff-alert");
-        this.cachedAdQueuedPlayer = loadStaticComponent("messages.ad-queued-player-confirm");
-    }
-
-    private @NotNull Component loadStaticComponent(final String path) {
-        final String message = config.getString(path, "Message not found: " + path);
-        return serializer.deserialize(message);
+    private @NotNull File getLanguageFolder() {
+        return new File(plugin.getDataFolder(), "lang");
     }
 
-    public Component getMessage(final String path, final String @NotNull ... placeholders) {
-        final String message = config.getString("messages." + path, "Message not found: " + path);
-        Component component = serializer.deserialize(message);
+    /**
+     * Builds a message with dynamic values in the viewer's locale.
+     * Placeholders are substituted in the template before parsing, so colors are preserved.
+     *
+     * @param viewer       The recipient whose locale selects the bundle.
+     * @param path         The message key below "messages".
+     * @param placeholders Alternating placeholder keys and values.
+     * @return The parsed component.
+     */
+    public Component getMessage(final @Nullable CommandSender viewer, final String path, final String @NotNull ... placeholders) {
+        String message = snapshot.bundleFor(viewer).template(path, "Message not found: " + path);
 
-        for (int i = 0; i < placeholders.length; i += 2) {
-            if (i + 1 < placeholders.length) {
-                final String key = placeholders[i];
-                final String value = placeholders[i + 1];
-                component = Component.text(serializer.serialize(component).replace(key, value));
-            }
+        for (int i = 0; i + 1 < placeholders.length; i += 2) {
+            message = message.replace(placeholders[i], placeholders[i + 1]);
         }
 
-        return component;
+        return serializer.deserialize(message);
+    }
+
+    /**
+     * Returns a raw message template in the viewer's locale, for messages filled in by the caller.
+     *
+     * @param viewer       The recipient whose locale selects the bundle.
+     * @param path         The message key below "messages".
+     * @param defaultValue The template to use if no bundle defines the key.
+     * @return The raw template.
+     */
+    public @NotNull String getMessageTemplate(final @Nullable CommandSender viewer, final String path, final String defaultValue) {
+        return snapshot.bundleFor(viewer).template(path, defaultValue);
     }
 
     /**
      * @return true if manual review is required for all submitted ads.
      */
     public boolean isReviewRequired() {
-        return config.getBoolean("moderation.require-review", false);
+        return snapshot.reviewRequired;
     }
 
     public boolean isDebugEnabled() {
-        return config.getBoolean("settings.debug-mode", false);
+        return snapshot.debugEnabled;
+    }
+
+    /**
+     * @return The bitmask of enabled trace categories; every category when debug-mode is on.
+     */
+    public int getTraceCategoryMask() {
+        return snapshot.traceCategoryMask;
+    }
+
+    public int getTraceBufferSize() {
+        return snapshot.traceBufferSize;
+    }
+
+    public boolean isAutoReloadEnabled() {
+        return snapshot.autoReloadEnabled;
+    }
+
+    public long getAutoReloadDebounceMillis() {
+        return snapshot.autoReloadDebounceMillis;
     }
 
     public @NotNull List<String> getProfanityFilter() {
-        return config.getStringList("moderation.profanity-filter");
+        return snapshot.profanityFilter;
+    }
+
+    public @NotNull List<String> getModerationChain() {
+        return snapshot.moderationChain;
+    }
+
+    public @NotNull DomainWhitelist getAdvertisingWhitelist() {
+        return snapshot.advertisingWhitelist;
+    }
+
+    public int getRateLimitBurst() {
+        return snapshot.rateLimitBurst;
+    }
+
+    public double getRateLimitRefillPerSecond() {
+        return snapshot.rateLimitRefillPerSecond;
     }
 
     public int getMinLength() {
-        return config.getInt("moderation.min-length", 10);
+        return snapshot.minLength;
     }
 
     public int getMaxLength() {
-        return config.getInt("moderation.max-length", 150);
+        return snapshot.maxLength;
     }
 
-    public @NotNull Sound getBroadcastSound() {
-        final String soundKey = config.getString("broadcast-sound.key", "minecraft:entity.experience_orb.pickup");
-        final double volume = config.getDouble("broadcast-sound.volume", 1.0);
-        final double pitch = config.getDouble("broadcast-sound.pitch", 1.5);
+    public long getAudienceResyncSeconds() {
+        return snapshot.audienceResyncSeconds;
+    }
+
+    public boolean isDuplicateDetectionEnabled() {
+        return snapshot.duplicateDetectionEnabled;
+    }
+
+    public int getDuplicateMaxDistance() {
+        return snapshot.duplicateMaxDistance;
+    }
+
+    public long getDuplicateWindowSeconds() {
+        return snapshot.duplicateWindowSeconds;
+    }
+
+    public int getDuplicateHistorySize() {
+        return snapshot.duplicateHistorySize;
+    }
 
-        return Sound.sound(Key.key(soundKey), Source.MASTER, (float) volume, (float) pitch);
+    public @NotNull Sound getBroadcastSound() {
+        return snapshot.broadcastSound;
     }
 
     public long getDefaultCooldown() {
-        return config.getLong("cooldowns.default", 300L);
+        return snapshot.defaultCooldown;
     }
 
     public long getConfirmationTimeoutSeconds() {
-        return config.getLong("confirmation-timeout-seconds", 60L);
+        return snapshot.confirmationTimeoutSeconds;
     }
 
     public Map<String, Long> getRankCooldowns() {
-        return rankCooldowns;
+        return snapshot.rankCooldowns;
     }
 
-    public Component getCachedNoPermission() {
-        return cachedNoPermission;
+    /**
+     * @return Sliding-window quotas keyed by their kawaiid.cooldown.&lt;rank&gt; permission.
+     */
+    public @NotNull Map<String, AdQuota> getRankQuotas() {
+        return snapshot.rankQuotas;
     }
 
-    public Component getCachedCooldownBypass() {
-        return cachedCooldownBypass;
+    /**
+     * @return The configured ad channels keyed by lower-case name.
+     */
+    public @NotNull Map<String, AdChannel> getChannels() {
+        return snapshot.channels;
     }
 
-    public Component getCachedPreviewHeader() {
-        return cachedPreviewHeader;
+    /**
+     * @param name A channel name in any case.
+     * @return The channel, or null if none is configured under that name.
+     */
+    public @Nullable AdChannel getChannel(final @NotNull String name) {
+        return snapshot.channels.get(name.toLowerCase(Locale.ROOT));
     }
 
-    public Component getCachedPreviewFooter() {
-        return cachedPreviewFooter;
+    /**
+     * @return The scheduled server ads, or an empty list if they are disabled.
+     */
+    public @NotNull List<ScheduledAd> getScheduledAds() {
+        return snapshot.scheduledAds;
+    }
+
+    public long getScheduledAdSpacingSeconds() {
+        return snapshot.scheduledAdSpacingSeconds;
+    }
+
+    public long getDatabaseTimeoutMillis() {
+        return snapshot.databaseTimeoutMillis;
+    }
+
+    public int getDatabaseFailureThreshold() {
+        return snapshot.databaseFailureThreshold;
     }
 
-    public Component getCachedAdBroadcasted() {
-        return cachedAdBroadcasted;
+    public long getDatabaseRetrySeconds() {
+        return snapshot.databaseRetrySeconds;
     }
 
-    public Component getCachedAdCancelled() {
-        return cachedAdCancelled;
+    public int getDatabaseMaxReplayQueue() {
+        return snapshot.databaseMaxReplayQueue;
     }
 
-    public Component getCachedAdTimeout() {
-        return cachedAdTimeout;
+    public Component getCachedNoPermission(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("no-permission");
     }
 
-    public Component getCachedAdAlreadyPending() {
-        return cachedAdAlreadyPending;
+    public Component getCachedRateLimited(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("rate-limited");
     }
 
-    public Component getCachedUsage() {
-        return cachedUsage;
+    public Component getCachedCooldownBypass(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("cooldown-bypass");
+    }
+
+    public Component getCachedPreviewHeader(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("preview-header");
+    }
+
+    public Component getCachedPreviewFooter(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("preview-footer");
+    }
+
+    public Component getCachedAdBroadcasted(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("ad-broadcasted");
+    }
+
+    public Component getCachedAdCancelled(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("ad-cancelled");
+    }
+
+    public Component getCachedAdTimeout(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("ad-timeout");
+    }
+
+    public Component getCachedAdAlreadyPending(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("ad-already-pending");
+    }
+
+    public Component getCachedUsage(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("usage");
     }
 
     public Component getCachedAdPrefix() {
-        return cachedAdPrefix;
+        return snapshot.defaultBundle.component("preview-ad-prefix");
     }
 
     public Component getCachedAdQueuedStaff() {
-        return cachedAdQueuedStaff;
+        return snapshot.defaultBundle.component("ad-queued-staff-alert");
     }
 
-    public Component getCachedAdQueuedPlayer() {
-        return cachedAdQueuedPlayer;
+    public Component getCachedAdQueuedPlayer(final @Nullable CommandSender viewer) {
+        return snapshot.bundleFor(viewer).component("ad-queued-player-confirm");
     }
 
     public FileConfiguration getConfig() {
-        return config;
+        return snapshot.config;
+    }
+
+    /**
+     * A fully built, immutable view of one version of config.yml.
+     * The constructor validates the values and throws IllegalArgumentException for unusable configs.
+     */
+    private static final class Snapshot {
+
+        private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z0-9_-]{1,32}");
+
+        private final FileConfiguration config;
+        private final Map<String, Long> rankCooldowns;
+        private final Map<String, AdQuota> rankQuotas;
+        private final Map<String, AdChannel> channels;
+        private final List<ScheduledAd> scheduledAds;
+        private final long scheduledAdSpacingSeconds;
+        private final long databaseTimeoutMillis;
+        private final int databaseFailureThreshold;
+        private final long databaseRetrySeconds;
+        private final int databaseMaxReplayQueue;
+        private final List<String> profanityFilter;
+        private final List<String> moderationChain;
+        private final DomainWhitelist advertisingWhitelist;
+        private final Sound broadcastSound;
+        private final boolean reviewRequired;
+        private final boolean debugEnabled;
+        private final int traceCategoryMask;
+        private final int traceBufferSize;
+        private final boolean autoReloadEnabled;
+        private final long autoReloadDebounceMillis;
+        private final int rateLimitBurst;
+        private final double rateLimitRefillPerSecond;
+        private final int minLength;
+        private final int maxLength;
+        private final long defaultCooldown;
+        private final long confirmationTimeoutSeconds;
+        private final long audienceResyncSeconds;
+        private final boolean duplicateDetectionEnabled;
+        private final int duplicateMaxDistance;
+        private final long duplicateWindowSeconds;
+        private final int duplicateHistorySize;
+        private final MessageBundle defaultBundle;
+        private final Map<String, MessageBundle> localeBundles;
+        private final Map<Locale, MessageBundle> resolvedBundles = new ConcurrentHashMap<>();
+
+        private Snapshot(final FileConfiguration config, final File languageFolder, final LegacyComponentSerializer serializer) {
+            this.config = config;
+            this.reviewRequired = config.getBoolean("moderation.require-review", false);
+            this.debugEnabled = config.getBoolean("settings.debug-mode", false);
+            this.traceCategoryMask = debugEnabled ? TraceCategory.ALL : loadTraceCategories(config);
+            this.traceBufferSize = config.getInt("settings.trace.buffer-size", 4096);
+            this.autoReloadEnabled = config.getBoolean("settings.auto-reload.enabled", false);
+            this.autoReloadDebounceMillis = config.getLong("settings.auto-reload.debounce-millis", 1000L);
+            this.profanityFilter = config.getStringList("moderation.profanity-filter").stream()
+                    .map(word -> word.toLowerCase(Locale.ROOT))
+                    .toList();
+            this.moderationChain = config.isList("moderation.chain")
+                    ? config.getStringList("moderation.chain").stream().map(stage -> stage.toLowerCase(Locale.ROOT)).toList()
+                    : ModerationChain.DEFAULT_STAGES;
+            this.advertisingWhitelist = DomainWhitelist.compile(config.getStringList("moderation.advertising.whitelist"));
+            this.rateLimitBurst = config.getInt("rate-limit.burst", 5);
+            this.rateLimitRefillPerSecond = config.getDouble("rate-limit.refill-per-second", 0.5);
+            this.minLength = config.getInt("moderation.min-length", 10);
+            this.maxLength = config.getInt("moderation.max-length", 150);
+            this.defaultCooldown = config.getLong("cooldowns.default", 300L);
+            this.confirmationTimeoutSeconds = config.getLong("confirmation-timeout-seconds", 60L);
+            this.audienceResyncSeconds = config.getLong("settings.audience-resync-seconds", 30L);
+            this.duplicateDetectionEnabled = config.getBoolean("moderation.duplicate-detection.enabled", true);
+            this.duplicateMaxDistance = config.getInt("moderation.duplicate-detection.max-distance", 6);
+            this.duplicateWindowSeconds = config.getLong("moderation.duplicate-detection.window-seconds", 1800L);
+            this.duplicateHistorySize = config.getInt("moderation.duplicate-detection.history-size", 256);
+            this.scheduledAdSpacingSeconds = config.getLong("scheduled-ads.spacing-seconds", 30L);
+            this.databaseTimeoutMillis = config.getLong("database.timeout-millis", 2000L);
+            this.databaseFailureThreshold = config.getInt("database.failure-threshold", 3);
+            this.databaseRetrySeconds = config.getLong("database.retry-seconds", 30L);
+            this.databaseMaxReplayQueue = config.getInt("database.max-replay-queue", 10000);
+
+            if (minLength < 0 || maxLength < minLength) {
+                throw new IllegalArgumentException("moderation.min-length must be between 0 and moderation.max-length");
+            }
+            if (defaultCooldown < 0 || confirmationTimeoutSeconds <= 0) {
+                throw new IllegalArgumentException("cooldowns.default must be >= 0 and confirmation-timeout-seconds > 0");
+            }
+            for (final String stage : moderationChain) {
+                if (!ModerationChain.isKnownStage(stage)) {
+                    throw new IllegalArgumentException("moderation.chain contains unknown stage: " + stage);
+                }
+            }
+            if (databaseTimeoutMillis <= 0 || databaseFailureThreshold <= 0 || databaseRetrySeconds <= 0 || databaseMaxReplayQueue <= 0) {
+                throw new IllegalArgumentException("database.timeout-millis, failure-threshold, retry-seconds and max-replay-queue must be > 0");
+            }
+            if (traceBufferSize <= 0) {
+                throw new IllegalArgumentException("settings.trace.buffer-size must be > 0");
+            }
+            if (scheduledAdSpacingSeconds < 0) {
+                throw new IllegalArgumentException("scheduled-ads.spacing-seconds must be >= 0");
+            }
+            if (duplicateMaxDistance < 0 || duplicateMaxDistance > Long.SIZE) {
+                throw new IllegalArgumentException("moderation.duplicate-detection.max-distance must be between 0 and 64");
+            }
+
+            this.broadcastSound = loadBroadcastSound(config);
+            this.rankCooldowns = loadCooldowns(config, defaultCooldown);
+            this.rankQuotas = loadQuotas(config);
+            this.channels = loadChannels(config, defaultCooldown);
+            this.scheduledAds = loadScheduledAds(config, serializer);
+            // Messages added in newer versions fall back to the copy bundled in the jar, so upgraded installs never
+            // show "Message not found" for keys their config.yml predates.
+            final Configuration bundledConfig = config.getDefaults();
+            final MessageBundle bundled = bundledConfig == null ? null
+                    : MessageBundle.compile(bundledConfig.getConfigurationSection("messages"), null, serializer);
+            this.defaultBundle = MessageBundle.compile(config.getConfigurationSection("messages"), bundled, serializer);
+            this.localeBundles = loadLocaleBundles(languageFolder, defaultBundle, serializer);
+        }
+
+        /**
+         * Resolves the bundle for a viewer: exact locale, then language, then config.yml, then the bundled defaults.
+         * The result is memoized per Locale, so repeat lookups are a single map read.
+         */
+        private MessageBundle bundleFor(final @Nullable CommandSender viewer) {
+            if (localeBundles.isEmpty() || !(viewer instanceof Player player)) {
+                return defaultBundle;
+            }
+            final Locale locale = player.locale();
+            final MessageBundle resolved = resolvedBundles.get(locale);
+            if (resolved != null) {
+                return resolved;
+            }
+            MessageBundle bundle = localeBundles.get(locale.toString().toLowerCase(Locale.ROOT));
+            if (bundle == null) {
+                bundle = localeBundles.getOrDefault(locale.getLanguage().toLowerCase(Locale.ROOT), defaultBundle);
+            }
+            resolvedBundles.put(locale, bundle);
+            return bundle;
+        }
+
+        /**
+         * Compiles every lang/&lt;locale&gt;.yml file. Language-only files (de.yml) are loaded first so that
+         * regional files (de_de.yml) inherit from them before falling back to config.yml.
+         */
+        private static Map<String, MessageBundle> loadLocaleBundles(final File languageFolder, final MessageBundle defaultBundle,
+                                                                    final LegacyComponentSerializer serializer) {
+            final File[] files = languageFolder.listFiles((dir, name) -> name.endsWith(".yml"));
+            if (files == null || files.length == 0) {
+                return Map.of();
+            }
+
+            final Map<String, MessageBundle> bundles = new HashMap<>();
+            final Map<String, YamlConfiguration> regional = new HashMap<>();
+            for (final File file : files) {
+                final String tag = file.getName().substring(0, file.getName().length() - 4).toLowerCase(Locale.ROOT);
+                final YamlConfiguration yaml = new YamlConfiguration();
+                try {
+                    yaml.load(file);
+                } catch (IOException | InvalidConfigurationException e) {
+                    throw new IllegalArgumentException("lang/" + file.getName() + " could not be parsed: " + e.getMessage());
+                }
+                if (tag.contains("_")) {
+                    regional.put(tag, yaml);
+                } else {
+                    bundles.put(tag, MessageBundle.compile(messagesSection(yaml), defaultBundle, serializer));
+                }
+            }
+
+            regional.forEach((tag, yaml) -> {
+                final MessageBundle parent = bundles.getOrDefault(tag.substring(0, tag.indexOf('_')), defaultBundle);
+                bundles.put(tag, MessageBundle.compile(messagesSection(yaml), parent, serializer));
+            });
+            return Map.copyOf(bundles);
+        }
+
+        private static ConfigurationSection messagesSection(final YamlConfiguration yaml) {
+            final ConfigurationSection section = yaml.getConfigurationSection("messages");
+            return section != null ? section : yaml;
+        }
+
+        private static Map<String, Long> loadCooldowns(final FileConfiguration config, final long defaultCooldown) {
+            final Map<String, Long> tempCooldowns = new HashMap<>();
+            final ConfigurationSection section = config.getConfigurationSection("cooldowns.ranks");
+
+            if (section != null) {
+                for (final String key : section.getKeys(false)) {
+                    final String permission = "kawaiid.cooldown." + key.toLowerCase();
+                    final long timeInSeconds = config.getLong("cooldowns.ranks." + key, defaultCooldown);
+                    if (timeInSeconds < 0) {
+                        throw new IllegalArgumentException("cooldowns.ranks." + key + " must be >= 0");
+                    }
+                    tempCooldowns.put(permission, timeInSeconds);
+                }
+            }
+            return Collections.unmodifiableMap(tempCooldowns);
+        }
+
+        private static int loadTraceCategories(final FileConfiguration config) {
+            int mask = 0;
+            for (final String name : config.getStringList("settings.trace.categories")) {
+                final TraceCategory category = TraceCategory.fromName(name);
+                if (category == null) {
+                    throw new IllegalArgumentException("settings.trace.categories contains unknown category: " + name);
+                }
+                mask |= category.bit();
+            }
+            return mask;
+        }
+
+        private static Map<String, AdQuota> loadQuotas(final FileConfiguration config) {
+            final ConfigurationSection section = config.getConfigurationSection("cooldowns.quotas");
+            if (section == null) {
+                return Map.of();
+            }
+
+            final Map<String, AdQuota> quotas = new HashMap<>();
+            for (final String key : section.getKeys(false)) {
+                final int ads = section.getInt(key + ".ads", 0);
+                final long window = section.getLong(key + ".window", 0L);
+                if (ads <= 0 || window <= 0) {
+                    throw new IllegalArgumentException("cooldowns.quotas." + key + " needs ads > 0 and window > 0");
+                }
+                quotas.put("kawaiid.cooldown." + key.toLowerCase(), new AdQuota(ads, window));
+            }
+            return Map.copyOf(quotas);
+        }
+
+        private static Map<String, AdChannel> loadChannels(final FileConfiguration config, final long defaultCooldown) {
+            final ConfigurationSection section = config.getConfigurationSection("channels");
+            if (section == null) {
+                return Map.of();
+            }
+
+            final Map<String, AdChannel> channels = new HashMap<>();
+            for (final String key : section.getKeys(false)) {
+                final String name = key.toLowerCase(Locale.ROOT);
+                if (!CHANNEL_NAME.matcher(name).matches()) {
+                    throw new IllegalArgumentException("channels." + key + " must be named with letters, digits, '-' or '_'");
+                }
+                final long cooldown = section.getLong(key + ".cooldown", defaultCooldown);
+                if (cooldown < 0) {
+                    throw new IllegalArgumentException("channels." + key + ".cooldown must be >= 0");
+                }
+                final String permission = section.getString(key + ".permission", "kawaiid.channel." + name);
+                channels.put(name, new AdChannel(name, permission, section.getBoolean(key + ".world-only", false), cooldown));
+            }
+            return Map.copyOf(channels);
+        }
+
+        private static List<ScheduledAd> loadScheduledAds(final FileConfiguration config, final LegacyComponentSerializer serializer) {
+            final ConfigurationSection section = config.getConfigurationSection("scheduled-ads.ads");
+            if (section == null || !config.getBoolean("scheduled-ads.enabled", false)) {
+                return List.of();
+            }
+
+            final List<ScheduledAd> ads = new ArrayList<>();
+            for (final String key : section.getKeys(false)) {
+                final String message = section.getString(key + ".message");
+                final long interval = section.getLong(key + ".interval", 0L);
+                final int weight = section.getInt(key + ".weight", 1);
+                if (message == null || interval <= 0 || weight <= 0) {
+                    throw new IllegalArgumentException("scheduled-ads.ads." + key + " needs a message, interval > 0 and weight > 0");
+                }
+                ads.add(new ScheduledAd(key, serializer.deserialize(message), interval, weight,
+                        Set.copyOf(section.getStringList(key + ".worlds"))));
+            }
+            return List.copyOf(ads);
+        }
+
+        private static Sound loadBroadcastSound(final FileConfiguration config) {
+            final String soundKey = config.getString("broadcast-sound.key", "minecraft:entity.experience_orb.pickup");
+            final double volume = config.getDouble("broadcast-sound.volume", 1.0);
+            final double pitch = config.getDouble("broadcast-sound.pitch", 1.5);
+
+            try {
+                return Sound.sound(Key.key(soundKey), Source.MASTER, (float) volume, (float) pitch);
+            } catch (InvalidKeyException e) {
+                throw new IllegalArgumentException("broadcast-sound.key is not a valid key: " + soundKey);
+            }
+        }
     }
-}
\ No newline at end of file
+}
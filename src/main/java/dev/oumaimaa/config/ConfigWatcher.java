@@ -0,0 +1,126 @@
+package dev.oumaimaa.config;
+
+import dev.oumaimaa.KawaiiAdPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches config.yml and the lang/ folder on disk and triggers a reload once writes have settled.
+ * Runs on its own daemon thread; bursts of modify events within the debounce window collapse into one reload.
+ */
+public final class ConfigWatcher {
+
+    private static final String CONFIG_FILE_NAME = "config.yml";
+    private static final String LANGUAGE_FOLDER_NAME = "lang";
+
+    private final KawaiiAdPlugin plugin;
+    private final long debounceMillis;
+    private WatchService watchService;
+    private Path languageFolder;
+    private Thread thread;
+
+    /**
+     * Constructs the watcher.
+     *
+     * @param plugin         The main plugin instance.
+     * @param debounceMillis How long the file must stay unchanged before reloading.
+     */
+    public ConfigWatcher(final @NotNull KawaiiAdPlugin plugin, final long debounceMillis) {
+        this.plugin = plugin;
+        this.debounceMillis = Math.max(100L, debounceMillis);
+    }
+
+    /**
+     * Starts watching the plugin data folder and, once it exists, its lang/ folder.
+     */
+    public void start() {
+        final Path folder = plugin.getDataFolder().toPath();
+        this.languageFolder = folder.resolve(LANGUAGE_FOLDER_NAME);
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            folder.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not watch config.yml for changes: " + e.getMessage());
+            return;
+        }
+        watchLanguageFolder();
+
+        this.thread = new Thread(this::watchLoop, "KawaiiAD-ConfigWatcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops watching and terminates the watcher thread.
+     */
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // Closing only fails if the service is already unusable.
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void watchLoop() {
+        long changedAt = 0L;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey key = changedAt == 0L
+                        ? watchService.take()
+                        : watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+
+                if (key != null) {
+                    final boolean inLanguageFolder = languageFolder.equals(key.watchable());
+                    for (final WatchEvent<?> event : key.pollEvents()) {
+                        if (!(event.context() instanceof Path path)) {
+                            continue;
+                        }
+                        final String name = path.getFileName().toString();
+                        if (inLanguageFolder ? name.endsWith(".yml") : name.equals(CONFIG_FILE_NAME)) {
+                            changedAt = System.currentTimeMillis();
+                        } else if (!inLanguageFolder && name.equals(LANGUAGE_FOLDER_NAME)) {
+                            // lang/ was created after startup; its files are only seen once it is registered.
+                            watchLanguageFolder();
+                            changedAt = System.currentTimeMillis();
+                        }
+                    }
+                    key.reset();
+                }
+
+                if (changedAt != 0L && System.currentTimeMillis() - changedAt >= debounceMillis) {
+                    changedAt = 0L;
+                    plugin.reloadConfiguration(null);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void watchLanguageFolder() {
+        if (!Files.isDirectory(languageFolder)) {
+            return;
+        }
+        try {
+            languageFolder.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | ClosedWatchServiceException e) {
+            plugin.getLogger().warning("Could not watch lang/ for changes: " + e.getMessage());
+        }
+    }
+}
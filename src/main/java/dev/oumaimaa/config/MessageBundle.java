@@ -0,0 +1,71 @@
+package dev.oumaimaa.config;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The messages of one locale, compiled into components when the configuration is loaded.
+ * Keys missing from the locale are inherited from its fallback bundle, so a lookup never walks the chain at send time.
+ */
+final class MessageBundle {
+
+    private final Map<String, String> templates;
+    private final Map<String, Component> components;
+
+    private MessageBundle(final Map<String, String> templates, final Map<String, Component> components) {
+        this.templates = templates;
+        this.components = components;
+    }
+
+    /**
+     * Compiles the messages in a section on top of a fallback bundle.
+     *
+     * @param section    The section holding message keys, or null if the locale defines none.
+     * @param fallback   The bundle that supplies keys missing from the section, or null for the root bundle.
+     * @param serializer The legacy serializer used to build the components.
+     * @return The compiled bundle.
+     */
+    static @NotNull MessageBundle compile(final @Nullable ConfigurationSection section, final @Nullable MessageBundle fallback,
+                                          final @NotNull LegacyComponentSerializer serializer) {
+        final Map<String, String> templates = new HashMap<>();
+        if (fallback != null) {
+            templates.putAll(fallback.templates);
+        }
+        if (section != null) {
+            for (final String key : section.getKeys(false)) {
+                final String value = section.getString(key);
+                if (value != null) {
+                    templates.put(key, value);
+                }
+            }
+        }
+
+        final Map<String, Component> components = new HashMap<>(templates.size());
+        templates.forEach((key, value) -> components.put(key, serializer.deserialize(value)));
+        return new MessageBundle(Map.copyOf(templates), Map.copyOf(components));
+    }
+
+    /**
+     * @param key The message key below "messages".
+     * @return The precompiled component, or a "Message not found" notice.
+     */
+    @NotNull Component component(final @NotNull String key) {
+        final Component component = components.get(key);
+        return component != null ? component : Component.text("Message not found: messages." + key);
+    }
+
+    /**
+     * @param key          The message key below "messages".
+     * @param defaultValue The template to use if the key is missing.
+     * @return The raw, unparsed message template.
+     */
+    @NotNull String template(final @NotNull String key, final @NotNull String defaultValue) {
+        return templates.getOrDefault(key, defaultValue);
+    }
+}
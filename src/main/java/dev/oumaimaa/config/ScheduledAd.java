@@ -0,0 +1,19 @@
+package dev.oumaimaa.config;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * A recurring server-owned announcement, rendered into a component once when the configuration is loaded.
+ *
+ * @param name            The key under scheduled-ads.ads.
+ * @param message         The precompiled announcement.
+ * @param intervalSeconds The time between two fires of this ad.
+ * @param weight          The relative chance of being picked when several ads are due at once.
+ * @param worlds          The worlds to send to, or empty for the whole server.
+ */
+public record ScheduledAd(@NotNull String name, @NotNull Component message, long intervalSeconds, int weight,
+                          @NotNull Set<String> worlds) {
+}
@@ -0,0 +1,93 @@
+package dev.oumaimaa.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A fixed-size ring of a player's most recent ad timestamps, used for "N ads per window" quotas.
+ * The oldest entry is always at the head, so the time until the next free slot is a single read.
+ * Persisted as the timestamps from oldest to newest, eight big-endian bytes each.
+ */
+public final class AdTimestampRing {
+
+    private final long[] timestamps;
+    private int head;
+    private int size;
+
+    /**
+     * Constructs an empty ring.
+     *
+     * @param capacity The number of ads allowed per window.
+     */
+    public AdTimestampRing(final int capacity) {
+        this.timestamps = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Rebuilds a ring from its persisted form, keeping the newest entries if the capacity shrank.
+     *
+     * @param data     The persisted bytes, or null if none were stored.
+     * @param capacity The number of ads allowed per window.
+     * @return The restored ring.
+     */
+    public static @NotNull AdTimestampRing fromBytes(final byte[] data, final int capacity) {
+        final AdTimestampRing ring = new AdTimestampRing(capacity);
+        if (data == null) {
+            return ring;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        final int stored = data.length / Long.BYTES;
+        buffer.position(Math.max(0, stored - ring.timestamps.length) * Long.BYTES);
+        while (buffer.remaining() >= Long.BYTES) {
+            ring.record(buffer.getLong());
+        }
+        return ring;
+    }
+
+    /**
+     * Computes how long until the player may post again.
+     *
+     * @param now          The current time in epoch milliseconds.
+     * @param windowMillis The quota window length.
+     * @return The milliseconds until a slot frees up, or 0 if one is free now.
+     */
+    public synchronized long millisUntilNextSlot(final long now, final long windowMillis) {
+        if (size < timestamps.length) {
+            return 0L;
+        }
+        return Math.max(0L, timestamps[head] + windowMillis - now);
+    }
+
+    /**
+     * Records an ad, overwriting the oldest timestamp once the ring is full.
+     *
+     * @param timestamp The ad time in epoch milliseconds.
+     */
+    public synchronized void record(final long timestamp) {
+        timestamps[head] = timestamp;
+        head = (head + 1) % timestamps.length;
+        if (size < timestamps.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @return The number of ads this ring allows per window.
+     */
+    public int capacity() {
+        return timestamps.length;
+    }
+
+    /**
+     * @return The persisted form: recorded timestamps from oldest to newest.
+     */
+    public synchronized byte @NotNull [] toBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(size * Long.BYTES);
+        final int start = size < timestamps.length ? 0 : head;
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(timestamps[(start + i) % timestamps.length]);
+        }
+        return buffer.array();
+    }
+}
@@ -1,10 +1,23 @@
 package dev.oumaimaa.data;
 
 import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.config.AdChannel;
+import dev.oumaimaa.config.AdQuota;
+import dev.oumaimaa.jfr.CooldownLookupEvent;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -12,8 +25,23 @@ import java.util.concurrent.TimeUnit;
 /**
  * Manages player cooldowns for advertisement broadcasts.
  * Cooldowns are persisted via DatabaseManager. Optimized to minimize autoboxing.
+ * <p>
+ * Ranks with a sliding-window quota keep a fixed-size ring of their recent ad times instead,
+ * so the wait until the next free slot is a single read of the ring's oldest entry.
+ * <p>
+ * Channel cooldowns share one map keyed by (player, channel), so a check is a single lookup however many channels exist.
+ * <p>
+ * Checks never touch the database. A player's stored cooldowns are read on the async scheduler when they join,
+ * or on the first check that finds them missing; until then checks report {@link #LOADING}. While the database
+ * is unavailable, checks fall back to the ads seen in this session, and nothing read in that state is cached.
+ * A player's entries are dropped again when they quit.
  */
-public final class CooldownManager {
+public final class CooldownManager implements Listener {
+
+    /**
+     * Returned by the cooldown checks while the player's stored cooldowns are still being read.
+     */
+    public static final long LOADING = -1L;
 
     private static final String COOLDOWN_BYPASS_PERMISSION = "kawaiid.bypass";
     private static final long SECONDS_IN_MINUTE = 60L;
@@ -22,6 +50,12 @@ public final class CooldownManager {
     private final KawaiiAdPlugin plugin;
     private final DatabaseManager databaseManager;
     private final Map<UUID, Long> cooldownData = new ConcurrentHashMap<>();
+    private final Map<UUID, AdTimestampRing> adWindows = new ConcurrentHashMap<>();
+    private final Map<ChannelKey, Long> channelCooldowns = new ConcurrentHashMap<>();
+    private final Set<UUID> loadedPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> loadingPlayers = ConcurrentHashMap.newKeySet();
+    private final Object loadLock = new Object();
+    private long cacheGeneration;
 
     /**
      * Constructs the CooldownManager.
@@ -33,23 +67,125 @@ public final class CooldownManager {
         this.databaseManager = plugin.getDatabaseManager();
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(final @NotNull PlayerJoinEvent event) {
+        requestLoad(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Drops the departed player's cached cooldowns. Each write was queued when its cooldown was applied, so the next join
+     * reads everything back. While the database is unavailable the cache is the only record of this session's ads and is kept.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final @NotNull PlayerQuitEvent event) {
+        if (!isWorthWaiting()) {
+            return;
+        }
+        final UUID uuid = event.getPlayer().getUniqueId();
+        synchronized (loadLock) {
+            loadedPlayers.remove(uuid);
+            cooldownData.remove(uuid);
+            adWindows.remove(uuid);
+            for (final String channel : plugin.getAdsConfigManager().getChannels().keySet()) {
+                channelCooldowns.remove(new ChannelKey(uuid, channel));
+            }
+        }
+    }
+
     /**
-     * Loads a player's cooldown from the database into memory upon command execution.
+     * Reports whether the caches hold the player's stored cooldowns, starting an async read if they do not.
      *
-     * @param player The player.
-     * @return The last ad timestamp in milliseconds, or 0L if none found.
+     * @return true if the cached entries are authoritative; false if the caller has to wait or fall back.
      */
-    private long loadCooldownFromDatabase(final @NotNull Player player) {
-        final Long cachedTime = cooldownData.get(player.getUniqueId());
-        if (cachedTime != null) {
-            return cachedTime.longValue();
+    private boolean ensureLoaded(final UUID uuid) {
+        final CooldownLookupEvent event = new CooldownLookupEvent();
+        event.begin();
+        final boolean loaded = loadedPlayers.contains(uuid);
+        if (!loaded) {
+            requestLoad(uuid);
         }
+        commitLookupEvent(event, uuid, loaded);
+        return loaded;
+    }
+
+    /**
+     * Reads every stored cooldown of the player on the async scheduler, unless they are loaded or already being read.
+     * A failed or refused read leaves the player unloaded, so the next check tries again instead of trusting a guess.
+     */
+    private void requestLoad(final UUID uuid) {
+        if (loadedPlayers.contains(uuid) || !loadingPlayers.add(uuid)) {
+            return;
+        }
+        final long generation = currentGeneration();
+        plugin.getAdScheduler().runAsync(() -> {
+            try {
+                cacheStoredCooldowns(uuid, databaseManager.loadCooldowns(uuid), generation);
+            } catch (SQLException ignored) {
+                // Already logged and counted by the DatabaseManager.
+            } finally {
+                loadingPlayers.remove(uuid);
+            }
+        });
+    }
 
-        final long timestamp = databaseManager.loadCooldown(player.getUniqueId()).orElse(0L);
-        if (timestamp > 0) {
-            cooldownData.put(player.getUniqueId(), timestamp);
+    private long currentGeneration() {
+        synchronized (loadLock) {
+            return cacheGeneration;
+        }
+    }
+
+    /**
+     * Publishes a player's stored rows. Ads recorded in memory while the player was unloaded are newer and win.
+     * Rows read before an invalidation are discarded, since a bulk change may have committed after they were read,
+     * and so are rows that arrive after the player quit, which would otherwise never be evicted.
+     */
+    private void cacheStoredCooldowns(final UUID uuid, final Map<String, DatabaseManager.StoredCooldown> stored,
+                                      final long generation) {
+        synchronized (loadLock) {
+            if (generation == cacheGeneration && plugin.getServer().getPlayer(uuid) != null) {
+                publishStoredCooldowns(uuid, stored);
+            }
+        }
+    }
+
+    private void publishStoredCooldowns(final UUID uuid, final Map<String, DatabaseManager.StoredCooldown> stored) {
+        stored.forEach((channel, row) -> {
+            if (!channel.equals(DatabaseManager.GLOBAL_CHANNEL)) {
+                channelCooldowns.merge(new ChannelKey(uuid, channel), row.lastAdTime(), Math::max);
+                return;
+            }
+            cooldownData.merge(uuid, row.lastAdTime(), Math::max);
+            // Sized for the largest quota; loadAdWindow trims it to the player's own quota on first use.
+            final AdTimestampRing ring = AdTimestampRing.fromBytes(row.recentAdTimes(), getLargestQuotaAds());
+            if (row.recentAdTimes() == null && row.lastAdTime() > 0) {
+                ring.record(row.lastAdTime());
+            }
+            adWindows.put(uuid, ring);
+        });
+        loadedPlayers.add(uuid);
+    }
+
+    private int getLargestQuotaAds() {
+        int largest = 1;
+        for (final AdQuota quota : plugin.getAdsConfigManager().getRankQuotas().values()) {
+            largest = Math.max(largest, quota.ads());
+        }
+        return largest;
+    }
+
+    /**
+     * @return true if a cache miss should make the caller wait for the async read rather than fall back to memory.
+     */
+    private boolean isWorthWaiting() {
+        return databaseManager.getCircuitState() == DatabaseCircuitBreaker.State.CLOSED;
+    }
+
+    private void commitLookupEvent(final CooldownLookupEvent event, final UUID uuid, final boolean cacheHit) {
+        if (event.shouldCommit()) {
+            event.uuid = uuid.toString();
+            event.cacheHit = cacheHit;
+            event.commit();
         }
-        return timestamp;
     }
 
     /**
@@ -69,17 +205,63 @@ public final class CooldownManager {
     }
 
     /**
-     * Checks if a player is currently on cooldown. Loads the data from the DB if necessary.
+     * Finds the most generous sliding-window quota granted to the player.
      *
      * @param player The player to check.
-     * @return The remaining time in seconds, or 0 if no cooldown applies.
+     * @return The quota with the fewest seconds per ad, or null if the player has none.
+     */
+    public @Nullable AdQuota getEffectiveQuota(final @NotNull Player player) {
+        AdQuota best = null;
+        for (final Map.Entry<String, AdQuota> entry : plugin.getAdsConfigManager().getRankQuotas().entrySet()) {
+            if (player.hasPermission(entry.getKey()) && (best == null || entry.getValue().secondsPerAd() < best.secondsPerAd())) {
+                best = entry.getValue();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns a loaded player's timestamp ring, resizing it if the quota changed since it was built.
+     */
+    private AdTimestampRing loadAdWindow(final UUID uuid, final AdQuota quota) {
+        final AdTimestampRing cached = adWindows.get(uuid);
+        if (cached != null && cached.capacity() == quota.ads()) {
+            return cached;
+        }
+
+        final AdTimestampRing ring = cached != null
+                ? AdTimestampRing.fromBytes(cached.toBytes(), quota.ads())
+                : new AdTimestampRing(quota.ads());
+        adWindows.put(uuid, ring);
+        return ring;
+    }
+
+    /**
+     * Checks if a player is currently on cooldown, from memory only.
+     *
+     * @param player The player to check.
+     * @return The remaining time in seconds, 0 if no cooldown applies, or {@link #LOADING}.
      */
     public long getRemainingCooldown(final @NotNull Player player) {
         if (player.hasPermission(COOLDOWN_BYPASS_PERMISSION)) {
             return 0;
         }
 
-        final long lastAdTime = loadCooldownFromDatabase(player);
+        final UUID uuid = player.getUniqueId();
+        final boolean loaded = ensureLoaded(uuid);
+        if (!loaded && isWorthWaiting()) {
+            return LOADING;
+        }
+
+        final AdQuota quota = getEffectiveQuota(player);
+        if (quota != null) {
+            // An unloaded player has no ring yet, and an empty one must not be cached in its place.
+            final AdTimestampRing ring = loaded ? loadAdWindow(uuid, quota) : null;
+            final long windowMillis = TimeUnit.SECONDS.toMillis(quota.windowSeconds());
+            return ring == null ? 0 : ring.millisUntilNextSlot(System.currentTimeMillis(), windowMillis) / 1000;
+        }
+
+        final long lastAdTime = cooldownData.getOrDefault(uuid, 0L);
 
         if (lastAdTime == 0L) {
             return 0;
@@ -104,16 +286,95 @@ public final class CooldownManager {
         final long currentTime = System.currentTimeMillis();
         final UUID uuid = player.getUniqueId();
 
-        cooldownData.put(uuid, currentTime);
+        cooldownData.merge(uuid, currentTime, Math::max);
 
+        final AdQuota quota = getEffectiveQuota(player);
+        if (quota != null && loadedPlayers.contains(uuid)) {
+            final AdTimestampRing ring = loadAdWindow(uuid, quota);
+            ring.record(currentTime);
+            databaseManager.saveAdTimes(uuid, currentTime, ring.toBytes());
+            return;
+        }
+        // Without a loaded ring the stored one is unknown, so only the last ad time is written and the ring is kept.
         databaseManager.saveCooldown(uuid, currentTime);
     }
 
+    /**
+     * Returns the time left before the player may post into a channel again, from memory only.
+     *
+     * @param player  The player to check.
+     * @param channel The channel being posted into.
+     * @return The remaining time in seconds, 0 if no cooldown applies, or {@link #LOADING}.
+     */
+    public long getRemainingCooldown(final @NotNull Player player, final @NotNull AdChannel channel) {
+        if (player.hasPermission(COOLDOWN_BYPASS_PERMISSION)) {
+            return 0;
+        }
+
+        if (!ensureLoaded(player.getUniqueId()) && isWorthWaiting()) {
+            return LOADING;
+        }
+
+        final long lastAdTime = channelCooldowns.getOrDefault(new ChannelKey(player.getUniqueId(), channel.name()), 0L);
+
+        final long cooldownEndTime = lastAdTime + TimeUnit.SECONDS.toMillis(channel.cooldownSeconds());
+        final long currentTime = System.currentTimeMillis();
+        return currentTime < cooldownEndTime ? (cooldownEndTime - currentTime) / 1000 : 0;
+    }
+
+    /**
+     * Applies a channel cooldown to the player and schedules a save to the database.
+     *
+     * @param player  The player to apply the cooldown to.
+     * @param channel The channel the player posted into.
+     */
+    public void applyCooldown(final @NotNull Player player, final @NotNull AdChannel channel) {
+        final long currentTime = System.currentTimeMillis();
+        channelCooldowns.merge(new ChannelKey(player.getUniqueId(), channel.name()), currentTime, Math::max);
+        databaseManager.saveCooldown(player.getUniqueId(), channel.name(), currentTime);
+    }
+
+    /**
+     * Drops every cached cooldown, so the next check reloads it from the database. Call after a bulk change has committed.
+     */
+    public void invalidateAll() {
+        synchronized (loadLock) {
+            cacheGeneration++;
+            loadedPlayers.clear();
+            cooldownData.clear();
+            adWindows.clear();
+            channelCooldowns.clear();
+        }
+    }
+
+    /**
+     * Drops the cached cooldowns of the given players in every channel. Call after a bulk change has committed.
+     *
+     * @param players The players whose cache entries are stale.
+     */
+    public void invalidate(final @NotNull Collection<UUID> players) {
+        final Set<UUID> stale = players instanceof Set<UUID> set ? set : new HashSet<>(players);
+        synchronized (loadLock) {
+            cacheGeneration++;
+            for (final UUID uuid : stale) {
+                loadedPlayers.remove(uuid);
+                cooldownData.remove(uuid);
+                adWindows.remove(uuid);
+            }
+            channelCooldowns.keySet().removeIf(key -> stale.contains(key.player()));
+        }
+    }
+
     /**
      * Saves all currently tracked cooldowns to the database (used on plugin shutdown).
      */
     public void saveAllCooldownsAsync() {
         cooldownData.forEach(databaseManager::saveCooldown);
+        channelCooldowns.forEach((key, time) -> {
+            if (time > 0) {
+                databaseManager.saveCooldown(key.player(), key.channel(), time);
+            }
+        });
     }
 
     /**
@@ -138,4 +399,7 @@ public final class CooldownManager {
 
         return sb.toString().trim();
     }
+
+    private record ChannelKey(UUID player, String channel) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,283 @@
+package dev.oumaimaa.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams ad_cooldowns and ad_review_queue to and from a compact, versioned, gzip-compressed binary file.
+ * Exports read through a forward-only cursor and imports commit in fixed-size batches, so memory use stays
+ * constant regardless of table size. Both block on disk and database; run them off the server threads.
+ * <p>
+ * Layout: magic, version, export time, then one section per table. A section is a tag byte followed by rows,
+ * each introduced by a ROW byte, and closed by an END byte.
+ */
+public final class DataTransfer {
+
+    private static final int MAGIC = 0x4B414458; // "KADX"
+    private static final short VERSION = 1;
+    private static final byte SECTION_COOLDOWNS = 1;
+    private static final byte SECTION_REVIEWS = 2;
+    private static final byte ROW = 1;
+    private static final byte END = 0;
+    private static final int BATCH_SIZE = 1000;
+    private static final int FETCH_SIZE = 1000;
+    private static final long PROGRESS_INTERVAL = 50_000L;
+    /**
+     * Upper bounds for length-prefixed fields, so a corrupt or hostile file cannot make the import allocate
+     * an arbitrary array. Far above any real ad message or quota ring (8192 timestamps).
+     */
+    private static final int MAX_STRING_BYTES = 1 << 16;
+    private static final int MAX_RING_BYTES = 1 << 16;
+
+    private final DatabaseManager databaseManager;
+
+    /**
+     * Constructs the transfer helper.
+     *
+     * @param databaseManager The database to read from and write to.
+     */
+    public DataTransfer(final @NotNull DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Writes both tables to a file.
+     *
+     * @param file     The destination; overwritten if it exists.
+     * @param progress Notified periodically and once per finished table.
+     * @return The total number of rows written.
+     * @throws IOException  If the file could not be written.
+     * @throws SQLException If the database could not be read.
+     */
+    public long exportTo(final @NotNull File file, final @NotNull Progress progress) throws IOException, SQLException {
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file.toPath()))));
+             Connection conn = databaseManager.openConnection()) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(System.currentTimeMillis());
+
+            long total = 0;
+            out.writeByte(SECTION_COOLDOWNS);
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT uuid, channel, last_ad_time, recent_ad_times FROM "
+                    + DatabaseManager.COOLDOWNS_TABLE)) {
+                pstmt.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    long rows = 0;
+                    while (rs.next()) {
+                        out.writeByte(ROW);
+                        writeUuid(out, rs.getString(1));
+                        writeString(out, rs.getString(2));
+                        out.writeLong(rs.getLong(3));
+                        writeBytes(out, rs.getBytes(4));
+                        if (++rows % PROGRESS_INTERVAL == 0) {
+                            progress.update(DatabaseManager.COOLDOWNS_TABLE, rows, false);
+                        }
+                    }
+                    progress.update(DatabaseManager.COOLDOWNS_TABLE, rows, true);
+                    total += rows;
+                }
+            }
+            out.writeByte(END);
+
+            out.writeByte(SECTION_REVIEWS);
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT submitter_uuid, message, submission_time FROM "
+                    + DatabaseManager.REVIEW_TABLE + " ORDER BY id")) {
+                pstmt.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    long rows = 0;
+                    while (rs.next()) {
+                        out.writeByte(ROW);
+                        writeUuid(out, rs.getString(1));
+                        writeString(out, rs.getString(2));
+                        out.writeLong(rs.getLong(3));
+                        if (++rows % PROGRESS_INTERVAL == 0) {
+                            progress.update(DatabaseManager.REVIEW_TABLE, rows, false);
+                        }
+                    }
+                    progress.update(DatabaseManager.REVIEW_TABLE, rows, true);
+                    total += rows;
+                }
+            }
+            out.writeByte(END);
+            return total;
+        }
+    }
+
+    /**
+     * Merges an export file into the database. Cooldowns are upserted, keeping whichever last ad time is newer;
+     * review entries are appended with fresh ids unless an entry with the same submitter, submission time and message
+     * already exists. Each batch commits on its own, so a failure keeps earlier batches, and importing the same file
+     * again, or retrying a failed import, never duplicates the review queue.
+     *
+     * @param file     The export file to read.
+     * @param progress Notified periodically and once per finished table.
+     * @return The total number of rows read.
+     * @throws IOException  If the file is unreadable, truncated or not a KawaiiAD export.
+     * @throws SQLException If the database rejected a batch.
+     */
+    public long importFrom(final @NotNull File file, final @NotNull Progress progress) throws IOException, SQLException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file.toPath()))));
+             Connection conn = databaseManager.openConnection()) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file.getName() + " is not a KawaiiAD export");
+            }
+            final short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException(file.getName() + " has unsupported export version " + version);
+            }
+            in.readLong();
+
+            conn.setAutoCommit(false);
+            try {
+                long total = 0;
+                expectSection(in, SECTION_COOLDOWNS);
+                try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO " + DatabaseManager.COOLDOWNS_TABLE
+                        + " (uuid, channel, last_ad_time, recent_ad_times) VALUES (?, ?, ?, ?) "
+                        + "ON CONFLICT(uuid, channel) DO UPDATE SET last_ad_time = excluded.last_ad_time, recent_ad_times = excluded.recent_ad_times "
+                        + "WHERE excluded.last_ad_time >= " + DatabaseManager.COOLDOWNS_TABLE + ".last_ad_time")) {
+                    long rows = 0;
+                    while (in.readByte() == ROW) {
+                        pstmt.setString(1, readUuid(in));
+                        pstmt.setString(2, readString(in));
+                        pstmt.setLong(3, in.readLong());
+                        pstmt.setBytes(4, readBytes(in, MAX_RING_BYTES));
+                        pstmt.addBatch();
+                        rows = flushIfFull(conn, pstmt, rows + 1, DatabaseManager.COOLDOWNS_TABLE, progress);
+                    }
+                    flush(conn, pstmt);
+                    progress.update(DatabaseManager.COOLDOWNS_TABLE, rows, true);
+                    total += rows;
+                }
+
+                expectSection(in, SECTION_REVIEWS);
+                try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO " + DatabaseManager.REVIEW_TABLE
+                        + " (submitter_uuid, message, submission_time) SELECT ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM "
+                        + DatabaseManager.REVIEW_TABLE + " WHERE submitter_uuid = ? AND submission_time = ? AND message = ?)")) {
+                    long rows = 0;
+                    while (in.readByte() == ROW) {
+                        final String submitter = readUuid(in);
+                        final String message = readString(in);
+                        final long submittedAt = in.readLong();
+                        pstmt.setString(1, submitter);
+                        pstmt.setString(2, message);
+                        pstmt.setLong(3, submittedAt);
+                        pstmt.setString(4, submitter);
+                        pstmt.setLong(5, submittedAt);
+                        pstmt.setString(6, message);
+                        pstmt.addBatch();
+                        rows = flushIfFull(conn, pstmt, rows + 1, DatabaseManager.REVIEW_TABLE, progress);
+                    }
+                    flush(conn, pstmt);
+                    progress.update(DatabaseManager.REVIEW_TABLE, rows, true);
+                    total += rows;
+                }
+                return total;
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (EOFException e) {
+            throw new IOException(file.getName() + " is truncated", e);
+        }
+    }
+
+    private static long flushIfFull(final Connection conn, final PreparedStatement pstmt, final long rows,
+                                    final String table, final Progress progress) throws SQLException {
+        if (rows % BATCH_SIZE == 0) {
+            flush(conn, pstmt);
+        }
+        if (rows % PROGRESS_INTERVAL == 0) {
+            progress.update(table, rows, false);
+        }
+        return rows;
+    }
+
+    private static void flush(final Connection conn, final PreparedStatement pstmt) throws SQLException {
+        pstmt.executeBatch();
+        conn.commit();
+    }
+
+    private static void expectSection(final DataInputStream in, final byte section) throws IOException {
+        final byte tag = in.readByte();
+        if (tag != section) {
+            throw new IOException("Expected section " + section + " but found " + tag);
+        }
+    }
+
+    private static void writeUuid(final DataOutputStream out, final String value) throws IOException {
+        final UUID uuid = UUID.fromString(value);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static String readUuid(final DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong()).toString();
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final byte[] bytes = readBytes(in, MAX_STRING_BYTES);
+        if (bytes == null) {
+            throw new IOException("Unexpected null string");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(final DataInputStream in, final int maxLength) throws IOException {
+        final int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > maxLength) {
+            throw new IOException("Field length " + length + " is outside 0.." + maxLength + "; the file is corrupt");
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Receives transfer progress.
+     */
+    @FunctionalInterface
+    public interface Progress {
+
+        /**
+         * @param table    The table being transferred.
+         * @param rows     The rows transferred from that table so far.
+         * @param finished true once the table is complete.
+         */
+        void update(@NotNull String table, long rows, boolean finished);
+    }
+}
@@ -0,0 +1,90 @@
+package dev.oumaimaa.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks database health and stops the plugin from touching a failing database.
+ * After a run of consecutive failures the breaker opens and every call is skipped until the retry delay passes;
+ * then the background probe, and only the probe, is let through, and its outcome closes or re-opens the breaker.
+ * Normal callers never wait on a recovering database: they are refused whenever the breaker is not closed.
+ */
+public final class DatabaseCircuitBreaker {
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final int failureThreshold;
+    private final long retryDelayMillis;
+
+    /**
+     * Constructs a closed breaker.
+     *
+     * @param failureThreshold The number of consecutive failures that opens the breaker.
+     * @param retryDelayMillis How long the breaker stays open before a probe is allowed.
+     */
+    public DatabaseCircuitBreaker(final int failureThreshold, final long retryDelayMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.retryDelayMillis = Math.max(0L, retryDelayMillis);
+    }
+
+    /**
+     * @return true if the caller may use the database now, which is only while the breaker is closed.
+     */
+    public boolean allowRequest() {
+        return state.get() == State.CLOSED;
+    }
+
+    /**
+     * Moves an open breaker to HALF_OPEN once the retry delay has passed. Only the background probe calls this,
+     * so a probe can never run on a server thread.
+     *
+     * @return true if the caller is now the single probe and must report its outcome.
+     */
+    public boolean tryBeginProbe() {
+        return state.get() == State.OPEN
+                && System.currentTimeMillis() - openedAt.get() >= retryDelayMillis
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @return true if this call closed a previously open breaker.
+     */
+    public boolean recordSuccess() {
+        consecutiveFailures.set(0);
+        return state.getAndSet(State.CLOSED) != State.CLOSED;
+    }
+
+    /**
+     * Records a failed or timed-out call.
+     *
+     * @return true if this call opened the breaker.
+     */
+    public boolean recordFailure() {
+        final int failures = consecutiveFailures.incrementAndGet();
+        final State current = state.get();
+        if (current == State.HALF_OPEN || (current == State.CLOSED && failures >= failureThreshold)) {
+            openedAt.set(System.currentTimeMillis());
+            return state.compareAndSet(current, State.OPEN) && current == State.CLOSED;
+        }
+        return false;
+    }
+
+    public @NotNull State getState() {
+        return state.get();
+    }
+
+    /**
+     * The breaker states. While not CLOSED the plugin runs from memory only.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
@@ -3,7 +3,12 @@ package dev.oumaimaa.data;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.config.AdsConfigManager;
+import dev.oumaimaa.jfr.DatabaseWriteEvent;
+import dev.oumaimaa.scheduler.TaskHandle;
+import dev.oumaimaa.trace.TraceCategory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
@@ -11,17 +16,63 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.OptionalLong;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLNonTransientException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages SQLite connections and database operations using HikariCP for pooling.
+ * <p>
+ * Every database call is bounded by the configured timeout. Repeated failures open a circuit breaker, after which
+ * reads fall back to memory and writes wait in a replay queue that is flushed once the database recovers.
  */
 public final class DatabaseManager {
 
-    private static final String COOLDOWNS_TABLE = "ad_cooldowns";
-    private static final String REVIEW_TABLE = "ad_review_queue";
+    static final String COOLDOWNS_TABLE = "ad_cooldowns";
+    static final String REVIEW_TABLE = "ad_review_queue";
+    /**
+     * The channel key under which server-wide cooldowns are stored.
+     */
+    public static final String GLOBAL_CHANNEL = "";
+    /**
+     * How many times a write may fail before it is dropped instead of replayed.
+     */
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+    /**
+     * SQLite result codes a retry can never fix: SQL error, string or blob too big, constraint violation,
+     * datatype mismatch and bind parameter out of range.
+     */
+    private static final Set<Integer> PERMANENT_SQLITE_ERRORS = Set.of(1, 18, 19, 20, 25);
     private final KawaiiAdPlugin plugin;
+    private final AtomicInteger queuedOperations = new AtomicInteger();
+    private final AtomicLong completedOperations = new AtomicLong();
+    private final AtomicLong failedOperations = new AtomicLong();
+    private final Queue<PendingWrite> replayQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger replaySize = new AtomicInteger();
+    private final AtomicLong droppedWrites = new AtomicLong();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private final AtomicLong writeEpoch = new AtomicLong();
+    private final Map<UUID, Long> playerFences = new ConcurrentHashMap<>();
+    private volatile long globalFence;
+    private final DatabaseCircuitBreaker circuitBreaker;
+    private final long timeoutMillis;
+    private final int queryTimeoutSeconds;
+    private final int maxReplayQueue;
+    private volatile boolean shuttingDown;
+    private TaskHandle probeTask;
     private HikariDataSource dataSource;
 
     /**
@@ -31,9 +82,17 @@ public final class DatabaseManager {
      */
     public DatabaseManager(final KawaiiAdPlugin plugin) {
         this.plugin = plugin;
+        final AdsConfigManager config = plugin.getAdsConfigManager();
+        this.timeoutMillis = config.getDatabaseTimeoutMillis();
+        this.queryTimeoutSeconds = (int) Math.max(1L, (timeoutMillis + 999L) / 1000L);
+        this.maxReplayQueue = config.getDatabaseMaxReplayQueue();
+        this.circuitBreaker = new DatabaseCircuitBreaker(config.getDatabaseFailureThreshold(),
+                TimeUnit.SECONDS.toMillis(config.getDatabaseRetrySeconds()));
         setupDatabaseFile();
         initializePool();
         initializeDatabaseTables();
+        final long probeTicks = Math.max(1L, config.getDatabaseRetrySeconds()) * 20L;
+        this.probeTask = plugin.getAdScheduler().runGlobalTimer(() -> plugin.getAdScheduler().runAsync(this::probe), probeTicks, probeTicks);
     }
 
     private void setupDatabaseFile() {
@@ -53,6 +112,11 @@ public final class DatabaseManager {
         config.setMaximumPoolSize(10);
         config.setMinimumIdle(2);
         config.setPoolName("KawaiiAD-Pool");
+        // Bound every wait: pool checkout, SQLite's lock retry loop and the statement itself.
+        config.setConnectionTimeout(Math.max(250L, timeoutMillis));
+        config.addDataSourceProperty("busy_timeout", String.valueOf(timeoutMillis));
+        // WAL lets long export cursors run alongside normal writes.
+        config.addDataSourceProperty("journal_mode", "WAL");
         config.addDataSourceProperty("cachePrepStmts", "true");
         config.addDataSourceProperty("prepStmtCacheSize", "250");
         config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
@@ -62,8 +126,11 @@ public final class DatabaseManager {
 
     private void initializeDatabaseTables() {
         final String createCooldownsSQL = "CREATE TABLE IF NOT EXISTS " + COOLDOWNS_TABLE + " ("
-                + "uuid TEXT PRIMARY KEY,"
-                + "last_ad_time INTEGER NOT NULL"
+                + "uuid TEXT NOT NULL,"
+                + "channel TEXT NOT NULL DEFAULT '',"
+                + "last_ad_time INTEGER NOT NULL,"
+                + "recent_ad_times BLOB,"
+                + "PRIMARY KEY (uuid, channel)"
                 + ");";
 
         final String createReviewSQL = "CREATE TABLE IF NOT EXISTS " + REVIEW_TABLE + " ("
@@ -73,58 +140,165 @@ public final class DatabaseManager {
                 + "submission_time INTEGER NOT NULL"
                 + ");";
 
+        // Lets imports skip review entries that are already queued without scanning the table.
+        final String createReviewIndexSQL = "CREATE INDEX IF NOT EXISTS idx_review_submission ON " + REVIEW_TABLE
+                + " (submitter_uuid, submission_time)";
+
         try (Connection conn = dataSource.getConnection();
              PreparedStatement cooldownStmt = conn.prepareStatement(createCooldownsSQL);
-             PreparedStatement reviewStmt = conn.prepareStatement(createReviewSQL)) {
+             PreparedStatement reviewStmt = conn.prepareStatement(createReviewSQL);
+             PreparedStatement reviewIndexStmt = conn.prepareStatement(createReviewIndexSQL)) {
             cooldownStmt.execute();
             reviewStmt.execute();
+            reviewIndexStmt.execute();
+            ensureColumn(conn, COOLDOWNS_TABLE, "recent_ad_times", "BLOB");
+            migrateToChannelKeys(conn);
         } catch (SQLException e) {
             plugin.getLogger().severe("Database table initialization error: " + e.getMessage());
         }
     }
 
+    /**
+     * Adds a column to a table created by an older version of the plugin.
+     */
+    private void ensureColumn(final Connection conn, final String table, final String column, final String type) throws SQLException {
+        if (hasColumn(conn, table, column)) {
+            return;
+        }
+        try (PreparedStatement alter = conn.prepareStatement("ALTER TABLE " + table + " ADD COLUMN " + column + " " + type)) {
+            alter.execute();
+        }
+    }
+
+    private boolean hasColumn(final Connection conn, final String table, final String column) throws SQLException {
+        try (PreparedStatement info = conn.prepareStatement("PRAGMA table_info(" + table + ")");
+             ResultSet rs = info.executeQuery()) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuilds a cooldown table keyed by uuid alone into one keyed by (uuid, channel).
+     * SQLite cannot change a primary key in place, so existing rows are copied into the global channel.
+     */
+    private void migrateToChannelKeys(final Connection conn) throws SQLException {
+        if (hasColumn(conn, COOLDOWNS_TABLE, "channel")) {
+            return;
+        }
+
+        final String legacyTable = COOLDOWNS_TABLE + "_legacy";
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + COOLDOWNS_TABLE + " RENAME TO " + legacyTable);
+            stmt.execute("CREATE TABLE " + COOLDOWNS_TABLE + " ("
+                    + "uuid TEXT NOT NULL,"
+                    + "channel TEXT NOT NULL DEFAULT '',"
+                    + "last_ad_time INTEGER NOT NULL,"
+                    + "recent_ad_times BLOB,"
+                    + "PRIMARY KEY (uuid, channel)"
+                    + ")");
+            stmt.execute("INSERT INTO " + COOLDOWNS_TABLE + " (uuid, channel, last_ad_time, recent_ad_times) "
+                    + "SELECT uuid, '', last_ad_time, recent_ad_times FROM " + legacyTable);
+            stmt.execute("DROP TABLE " + legacyTable);
+            conn.commit();
+            plugin.getLogger().info("Migrated " + COOLDOWNS_TABLE + " to per-channel cooldown keys.");
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
     /**
      * Closes the Hikari Connection Pool safely on shutdown.
      */
     public void closePool() {
+        if (replaySize.get() > 0) {
+            plugin.getLogger().severe(replaySize.get() + " database writes could not be saved before shutdown.");
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             plugin.getLogger().info("HikariCP pool closed successfully.");
         }
     }
 
-    public OptionalLong loadCooldown(final @NotNull UUID uuid) {
-        final String sql = "SELECT last_ad_time FROM " + COOLDOWNS_TABLE + " WHERE uuid = ?";
+    /**
+     * Reads every stored cooldown of a player, in all channels, with one query.
+     * Blocks on the database; call it off the server threads.
+     *
+     * @param uuid The player.
+     * @return The stored rows keyed by channel name, or an empty map if the player has none.
+     * @throws SQLException If the circuit breaker is not closed or the query fails, so callers can tell an unavailable
+     *                      database apart from a player with no stored cooldown.
+     */
+    public @NotNull Map<String, StoredCooldown> loadCooldowns(final @NotNull UUID uuid) throws SQLException {
+        if (!circuitBreaker.allowRequest()) {
+            throw unavailable();
+        }
+        final String sql = "SELECT channel, last_ad_time, recent_ad_times FROM " + COOLDOWNS_TABLE + " WHERE uuid = ?";
+        final Map<String, StoredCooldown> rows = new HashMap<>();
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = prepare(conn, sql)) {
 
             pstmt.setString(1, uuid.toString());
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return OptionalLong.of(rs.getLong("last_ad_time"));
+                while (rs.next()) {
+                    rows.put(rs.getString("channel"), new StoredCooldown(rs.getLong("last_ad_time"), rs.getBytes("recent_ad_times")));
                 }
             }
         } catch (SQLException e) {
-            plugin.getLogger().warning("Failed to load cooldown for " + uuid + ": " + e.getMessage());
+            plugin.getLogger().warning("Failed to load cooldowns for " + uuid + ": " + e.getMessage());
+            recordFailure();
+            throw e;
         }
-        return OptionalLong.empty();
+        recordSuccess();
+        return rows;
     }
 
     public void saveCooldown(final UUID uuid, final long timestamp) {
-        final String sql = "INSERT OR REPLACE INTO " + COOLDOWNS_TABLE + " (uuid, last_ad_time) VALUES (?, ?)";
+        saveCooldown(uuid, GLOBAL_CHANNEL, timestamp);
+    }
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (Connection conn = dataSource.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Saves the last ad time of a player in one channel.
+     */
+    public void saveCooldown(final UUID uuid, final String channel, final long timestamp) {
+        final String sql = "INSERT INTO " + COOLDOWNS_TABLE + " (uuid, channel, last_ad_time) VALUES (?, ?, ?) "
+                + "ON CONFLICT(uuid, channel) DO UPDATE SET last_ad_time = excluded.last_ad_time "
+                + "WHERE excluded.last_ad_time >= " + COOLDOWNS_TABLE + ".last_ad_time";
 
+        submitWrite("save_cooldown", uuid, conn -> {
+            try (PreparedStatement pstmt = prepare(conn, sql)) {
                 pstmt.setString(1, uuid.toString());
-                pstmt.setLong(2, timestamp);
+                pstmt.setString(2, channel);
+                pstmt.setLong(3, timestamp);
+                pstmt.executeUpdate();
+            }
+            plugin.getTracer().trace(TraceCategory.DATABASE, "Cooldown saved for {} in channel '{}' at {}", uuid, channel, timestamp);
+        });
+    }
+
+    /**
+     * Saves the last ad time together with the player's sliding-window timestamps.
+     */
+    public void saveAdTimes(final UUID uuid, final long timestamp, final byte @NotNull [] recentAdTimes) {
+        final String sql = "INSERT INTO " + COOLDOWNS_TABLE + " (uuid, channel, last_ad_time, recent_ad_times) VALUES (?, ?, ?, ?) "
+                + "ON CONFLICT(uuid, channel) DO UPDATE SET last_ad_time = excluded.last_ad_time, recent_ad_times = excluded.recent_ad_times "
+                + "WHERE excluded.last_ad_time >= " + COOLDOWNS_TABLE + ".last_ad_time";
+
+        submitWrite("save_ad_times", uuid, conn -> {
+            try (PreparedStatement pstmt = prepare(conn, sql)) {
+                pstmt.setString(1, uuid.toString());
+                pstmt.setString(2, GLOBAL_CHANNEL);
+                pstmt.setLong(3, timestamp);
+                pstmt.setBytes(4, recentAdTimes);
                 pstmt.executeUpdate();
-                if (plugin.getAdsConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("DEBUG: Cooldown saved for " + uuid + " at " + timestamp);
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to save cooldown for " + uuid + ": " + e.getMessage());
             }
         });
     }
@@ -134,22 +308,416 @@ public final class DatabaseManager {
      */
     public void queueAdForReview(final UUID submitter, final String message) {
         final String sql = "INSERT INTO " + REVIEW_TABLE + " (submitter_uuid, message, submission_time) VALUES (?, ?, ?)";
+        final long submittedAt = System.currentTimeMillis();
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (Connection conn = dataSource.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
+        submitWrite("queue_review", null, conn -> {
+            try (PreparedStatement pstmt = prepare(conn, sql)) {
                 pstmt.setString(1, submitter.toString());
                 pstmt.setString(2, message);
-                pstmt.setLong(3, System.currentTimeMillis());
+                pstmt.setLong(3, submittedAt);
                 pstmt.executeUpdate();
+            }
+            plugin.getTracer().trace(TraceCategory.DATABASE, "Ad queued for review by {}", submitter);
+        });
+    }
+
+    /**
+     * Runs a write off the server thread, or parks it in the replay queue while the circuit breaker is open.
+     * During shutdown the scheduler no longer accepts tasks, so writes run inline instead.
+     *
+     * @param player The player whose cooldown row the write touches, so bulk changes can fence it off; null for other rows.
+     */
+    private void submitWrite(final String operation, final @Nullable UUID player, final SqlWrite write) {
+        if (!circuitBreaker.allowRequest()) {
+            enqueueReplay(new PendingWrite(operation, player, writeEpoch.get(), write));
+            return;
+        }
+
+        // Counted before the epoch is read, so fenceWrites never prunes a fence this write could still be older than.
+        queuedOperations.incrementAndGet();
+        final PendingWrite pending = new PendingWrite(operation, player, writeEpoch.get(), write);
+        if (shuttingDown) {
+            executeWrite(pending);
+        } else {
+            plugin.getAdScheduler().runAsync(() -> executeWrite(pending));
+        }
+    }
+
+    private void executeWrite(final PendingWrite pending) {
+        final DatabaseWriteEvent event = new DatabaseWriteEvent();
+        event.begin();
+        if (isFenced(pending)) {
+            plugin.getTracer().trace(TraceCategory.DATABASE, "Skipped {} for {}: superseded by a bulk change", pending.operation(), pending.player());
+            markOperationDone(event, pending.operation(), true);
+            return;
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            pending.write().execute(conn);
+            event.success = true;
+            recordSuccess();
+        } catch (SQLException e) {
+            handleWriteFailure(pending, e);
+        } finally {
+            markOperationDone(event, pending.operation(), event.success);
+        }
+    }
+
+    /**
+     * Keeps a failed write for replay unless retrying cannot help: errors in the statement or its data are dropped at once,
+     * and any write is dropped after {@link #MAX_WRITE_ATTEMPTS} failures, so a poison write cannot cycle forever.
+     */
+    private void handleWriteFailure(final PendingWrite pending, final SQLException e) {
+        if (isPermanent(e)) {
+            droppedWrites.incrementAndGet();
+            plugin.getLogger().severe("Database write '" + pending.operation() + "' failed permanently, dropping it: " + e.getMessage());
+            return;
+        }
+
+        recordFailure();
+        final PendingWrite retry = pending.retried();
+        if (retry.attempts() >= MAX_WRITE_ATTEMPTS) {
+            droppedWrites.incrementAndGet();
+            plugin.getLogger().severe("Database write '" + pending.operation() + "' failed " + retry.attempts()
+                    + " times, dropping it: " + e.getMessage());
+            return;
+        }
+        plugin.getLogger().severe("Database write '" + pending.operation() + "' failed, keeping it for replay: " + e.getMessage());
+        enqueueReplay(retry);
+    }
+
+    /**
+     * @return true for errors caused by the statement or its data rather than the database's health.
+     */
+    private static boolean isPermanent(final SQLException e) {
+        if (e instanceof SQLNonTransientConnectionException) {
+            return false;
+        }
+        return e instanceof SQLNonTransientException || PERMANENT_SQLITE_ERRORS.contains(e.getErrorCode());
+    }
+
+    private void enqueueReplay(final PendingWrite pending) {
+        replayQueue.offer(pending);
+        if (replaySize.incrementAndGet() > maxReplayQueue && replayQueue.poll() != null) {
+            replaySize.decrementAndGet();
+            droppedWrites.incrementAndGet();
+        }
+    }
+
+    /**
+     * Re-runs the writes parked during an outage, in their original order, stopping at the first failure.
+     */
+    private void replayPendingWrites() {
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            PendingWrite pending;
+            while (circuitBreaker.getState() == DatabaseCircuitBreaker.State.CLOSED && (pending = replayQueue.poll()) != null) {
+                queuedOperations.incrementAndGet();
+                replaySize.decrementAndGet();
+                executeWrite(pending);
+            }
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    /**
+     * Checks an open breaker with a cheap query once the retry delay has passed, so the database
+     * recovers and the replay queue drains even when no player is using /ads.
+     */
+    private void probe() {
+        if (!circuitBreaker.tryBeginProbe()) {
+            return;
+        }
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = prepare(conn, "SELECT 1")) {
+            pstmt.executeQuery().close();
+            recordSuccess();
+        } catch (SQLException e) {
+            recordFailure();
+        }
+    }
+
+    private void recordSuccess() {
+        if (circuitBreaker.recordSuccess()) {
+            plugin.getLogger().info("Database recovered; replaying " + replaySize.get() + " queued writes.");
+        }
+        if (replaySize.get() > 0 && !replaying.get()) {
+            if (shuttingDown) {
+                replayPendingWrites();
+            } else {
+                plugin.getAdScheduler().runAsync(this::replayPendingWrites);
+            }
+        }
+    }
+
+    private void recordFailure() {
+        if (circuitBreaker.recordFailure()) {
+            plugin.getLogger().severe("Database is unhealthy; running from memory only and queueing writes until it recovers.");
+        }
+    }
+
+    private PreparedStatement prepare(final Connection conn, final String sql) throws SQLException {
+        final PreparedStatement pstmt = conn.prepareStatement(sql);
+        pstmt.setQueryTimeout(queryTimeoutSeconds);
+        return pstmt;
+    }
+
+    /**
+     * Switches to synchronous writes and flushes the replay queue if the database is reachable.
+     * An open breaker is probed once more if its retry delay has passed.
+     * Call from onDisable before the final saves, since no new async tasks can be scheduled at that point.
+     */
+    public void beginShutdown() {
+        shuttingDown = true;
+        if (probeTask != null) {
+            probeTask.cancel();
+        }
+        if (circuitBreaker.getState() != DatabaseCircuitBreaker.State.CLOSED) {
+            probe();
+        }
+        replayPendingWrites();
+    }
+
+    /**
+     * Deletes every stored cooldown, in all channels, in one statement.
+     * Blocks on the database; call it off the server threads.
+     *
+     * @return The number of cooldown rows removed.
+     * @throws SQLException If the database is unavailable or the statement fails.
+     */
+    public int resetAllCooldowns() throws SQLException {
+        return runBulk("bulk_reset_all", null, conn -> {
+            try (PreparedStatement pstmt = prepare(conn, "DELETE FROM " + COOLDOWNS_TABLE)) {
+                return pstmt.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Deletes the stored cooldowns, in all channels, of the given players as one batched transaction.
+     * Blocks on the database; call it off the server threads.
+     *
+     * @param players The players whose cooldowns are cleared.
+     * @return The number of cooldown rows removed.
+     * @throws SQLException If the database is unavailable or the transaction fails.
+     */
+    public int resetCooldowns(final @NotNull Collection<UUID> players) throws SQLException {
+        return runBulk("bulk_reset", players, conn -> {
+            try (PreparedStatement pstmt = prepare(conn, "DELETE FROM " + COOLDOWNS_TABLE + " WHERE uuid = ?")) {
+                for (final UUID uuid : players) {
+                    pstmt.setString(1, uuid.toString());
+                    pstmt.addBatch();
+                }
+                return sum(pstmt.executeBatch());
+            }
+        });
+    }
 
-                if (plugin.getAdsConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("DEBUG: Ad queued for review by " + submitter);
+    /**
+     * Moves the stored last ad times of the given players, in all channels, by a fixed amount as one batched transaction.
+     * Sliding-window rings are cleared, so quota players are re-seeded from the adjusted last ad time.
+     * Blocks on the database; call it off the server threads.
+     *
+     * @param players     The players to adjust.
+     * @param deltaMillis The amount to add; positive values lengthen the remaining cooldown.
+     * @return The number of cooldown rows changed.
+     * @throws SQLException If the database is unavailable or the transaction fails.
+     */
+    public int adjustCooldowns(final @NotNull Collection<UUID> players, final long deltaMillis) throws SQLException {
+        final String sql = "UPDATE " + COOLDOWNS_TABLE + " SET last_ad_time = last_ad_time + ?, recent_ad_times = NULL WHERE uuid = ?";
+        return runBulk("bulk_adjust", players, conn -> {
+            try (PreparedStatement pstmt = prepare(conn, sql)) {
+                for (final UUID uuid : players) {
+                    pstmt.setLong(1, deltaMillis);
+                    pstmt.setString(2, uuid.toString());
+                    pstmt.addBatch();
                 }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to queue ad for review: " + e.getMessage());
+                return sum(pstmt.executeBatch());
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs a bulk operation in a single transaction, rolling back on failure.
+     * Writes to the affected players that were submitted earlier but have not run yet are fenced off first.
+     *
+     * @param players The players whose rows the operation changes, or null for every player.
+     */
+    private int runBulk(final String operation, final @Nullable Collection<UUID> players, final SqlBulk bulk) throws SQLException {
+        if (!circuitBreaker.allowRequest()) {
+            throw unavailable();
+        }
+        fenceWrites(players);
+
+        final DatabaseWriteEvent event = new DatabaseWriteEvent();
+        event.begin();
+        queuedOperations.incrementAndGet();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                final int affected = bulk.execute(conn);
+                conn.commit();
+                event.success = true;
+                recordSuccess();
+                plugin.getTracer().trace(TraceCategory.DATABASE, "Bulk operation {} affected {} rows", operation, affected);
+                return affected;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            recordFailure();
+            throw e;
+        } finally {
+            markOperationDone(event, operation, event.success);
+        }
+    }
+
+    /**
+     * Opens a pooled connection for long-running transfers, refusing while the circuit breaker is open.
+     */
+    Connection openConnection() throws SQLException {
+        if (!circuitBreaker.allowRequest()) {
+            throw unavailable();
+        }
+        try {
+            final Connection conn = dataSource.getConnection();
+            recordSuccess();
+            return conn;
+        } catch (SQLException e) {
+            recordFailure();
+            throw e;
+        }
+    }
+
+    /**
+     * Marks every cooldown write submitted so far for the given players, or for everyone if players is null, as stale.
+     * A save still waiting on the async scheduler or in the replay queue is then skipped instead of landing after
+     * the bulk change and restoring the cooldown it reset.
+     */
+    private void fenceWrites(final @Nullable Collection<UUID> players) {
+        if (queuedOperations.get() == 0 && replaySize.get() == 0) {
+            // No write is outstanding, so no earlier fence can still match anything.
+            playerFences.clear();
+        }
+        final long fence = writeEpoch.incrementAndGet();
+        if (players == null) {
+            globalFence = fence;
+            return;
+        }
+        for (final UUID uuid : players) {
+            playerFences.put(uuid, fence);
+        }
+    }
+
+    private boolean isFenced(final PendingWrite pending) {
+        if (pending.player() == null) {
+            return false;
+        }
+        return pending.epoch() < Math.max(globalFence, playerFences.getOrDefault(pending.player(), 0L));
+    }
+
+    private SQLException unavailable() {
+        return new SQLTransientConnectionException("Database is unavailable (circuit " + circuitBreaker.getState() + ")");
+    }
+
+    private static int sum(final int[] counts) {
+        int total = 0;
+        for (final int count : counts) {
+            total += Math.max(0, count);
+        }
+        return total;
+    }
+
+    private void markOperationDone(final DatabaseWriteEvent event, final String operation, final boolean succeeded) {
+        queuedOperations.decrementAndGet();
+        (succeeded ? completedOperations : failedOperations).incrementAndGet();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return The number of asynchronous writes scheduled but not yet finished.
+     */
+    public int getQueuedOperations() {
+        return queuedOperations.get();
+    }
+
+    /**
+     * @return The total number of writes that succeeded since startup, including writes skipped because a bulk change
+     * superseded them.
+     */
+    public long getCompletedOperations() {
+        return completedOperations.get();
+    }
+
+    /**
+     * @return The total number of write attempts that failed since startup; a write kept for replay counts once per attempt.
+     */
+    public long getFailedOperations() {
+        return failedOperations.get();
+    }
+
+    /**
+     * @return The current circuit breaker state; anything but CLOSED means the plugin is running from memory.
+     */
+    public @NotNull DatabaseCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * @return The number of writes waiting to be replayed once the database recovers.
+     */
+    public int getReplayQueueSize() {
+        return replaySize.get();
+    }
+
+    /**
+     * @return The number of queued writes discarded because the replay queue was full.
+     */
+    public long getDroppedWrites() {
+        return droppedWrites.get();
+    }
+
+    @FunctionalInterface
+    private interface SqlWrite {
+        void execute(Connection conn) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface SqlBulk {
+        int execute(Connection conn) throws SQLException;
+    }
+
+    /**
+     * One stored cooldown row.
+     *
+     * @param lastAdTime    The last ad time in epoch milliseconds.
+     * @param recentAdTimes The persisted sliding-window ring, or null if none is stored.
+     */
+    public record StoredCooldown(long lastAdTime, byte @Nullable [] recentAdTimes) {
+    }
+
+    /**
+     * A write waiting to run.
+     *
+     * @param player The player whose cooldown row it touches, or null for other tables.
+     * @param epoch  The write epoch when it was submitted; bulk changes fence off older epochs.
+     */
+    private record PendingWrite(String operation, @Nullable UUID player, long epoch, SqlWrite write, int attempts) {
+
+        PendingWrite(final String operation, final @Nullable UUID player, final long epoch, final SqlWrite write) {
+            this(operation, player, epoch, write, 0);
+        }
+
+        PendingWrite retried() {
+            return new PendingWrite(operation, player, epoch, write, attempts + 1);
+        }
+    }
+}
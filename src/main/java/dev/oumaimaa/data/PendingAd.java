@@ -0,0 +1,112 @@
+package dev.oumaimaa.data;
+
+import dev.oumaimaa.config.AdChannel;
+import dev.oumaimaa.papi.CompiledAdMessage;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An ad that passed validation and is awaiting the submitter's confirmation.
+ * Holds the already-compiled message and its prefixed component, so confirming never reparses the raw text.
+ * <p>
+ * Every pending ad carries an atomic state. Confirm, cancel and timeout each attempt a single PENDING -> terminal
+ * transition, so exactly one of them wins. The winner then removes the map entry with remove(key, value), which
+ * compares by identity because this class keeps Object equality, so it never removes a newer ad for the same player.
+ */
+public final class PendingAd {
+
+    private final CompiledAdMessage message;
+    private final Component broadcastComponent;
+    private final long expiresAt;
+    private final String world;
+    private final AdChannel channel;
+    private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+
+    /**
+     * Constructs a pending ad in the PENDING state.
+     *
+     * @param message            The compiled ad body.
+     * @param broadcastComponent The prefixed ad with placeholders unresolved, as shown in the preview.
+     * @param expiresAt          The time in epoch milliseconds after which the ad can no longer be confirmed.
+     * @param world              The name of the world the submitter was in.
+     * @param channel            The channel the ad was submitted to, or null for a server-wide ad.
+     */
+    public PendingAd(final @NotNull CompiledAdMessage message, final @NotNull Component broadcastComponent,
+                     final long expiresAt, final @NotNull String world,
+                     final @Nullable AdChannel channel) {
+        this.message = message;
+        this.broadcastComponent = broadcastComponent;
+        this.expiresAt = expiresAt;
+        this.world = world;
+        this.channel = channel;
+    }
+
+    /**
+     * Moves the ad from PENDING to a terminal state. Only the first caller succeeds.
+     *
+     * @param target The terminal state to move to.
+     * @return true if this call performed the transition.
+     */
+    public boolean tryTransition(final @NotNull State target) {
+        if (target == State.PENDING) {
+            throw new IllegalArgumentException("Cannot transition back to PENDING");
+        }
+        return state.compareAndSet(State.PENDING, target);
+    }
+
+    /**
+     * @param now The current time in epoch milliseconds.
+     * @return true if the confirmation window has passed.
+     */
+    public boolean isExpired(final long now) {
+        return now >= expiresAt;
+    }
+
+    /**
+     * Produces the component to broadcast, resolving placeholders only when the ad contains any.
+     *
+     * @param prefix The ad prefix component.
+     * @param viewer The player placeholders are resolved against.
+     * @return The final broadcast component.
+     */
+    public @NotNull Component render(final @NotNull Component prefix, final @Nullable OfflinePlayer viewer) {
+        if (!message.hasPlaceholders()) {
+            return broadcastComponent;
+        }
+        return prefix.append(message.render(viewer));
+    }
+
+    public @NotNull CompiledAdMessage getMessage() {
+        return message;
+    }
+
+    public @NotNull Component getBroadcastComponent() {
+        return broadcastComponent;
+    }
+
+    public @NotNull String getWorld() {
+        return world;
+    }
+
+    public @Nullable AdChannel getChannel() {
+        return channel;
+    }
+
+    public @NotNull State getState() {
+        return state.get();
+    }
+
+    /**
+     * The lifecycle of a pending ad. Every state other than PENDING is terminal.
+     */
+    public enum State {
+        PENDING,
+        CONFIRMED,
+        CANCELLED,
+        EXPIRED
+    }
+}
@@ -0,0 +1,28 @@
+package dev.oumaimaa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Covers one /ads submission from argument joining to the preview or rejection.
+ */
+@Name("kawaiiad.AdSubmission")
+@Label("Ad Submission")
+@Category({"KawaiiAD", "Ad Lifecycle"})
+@Description("Handling of a single /ads submission")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class AdSubmissionEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Outcome")
+    @Description("pending, queued, cooldown, rejected, duplicate or already_pending")
+    public String outcome;
+}
@@ -0,0 +1,28 @@
+package dev.oumaimaa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Covers one pass through the moderation chain.
+ */
+@Name("kawaiiad.AdValidation")
+@Label("Ad Validation")
+@Category({"KawaiiAD", "Ad Lifecycle"})
+@Description("Moderation chain run for an ad")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class AdValidationEvent extends Event {
+
+    @Label("Message Length")
+    public int messageLength;
+
+    @Label("Rejected By")
+    @Description("The stage that rejected the ad, or empty if it passed")
+    public String rejectedStage;
+}
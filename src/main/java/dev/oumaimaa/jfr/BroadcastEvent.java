@@ -0,0 +1,28 @@
+package dev.oumaimaa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Covers the fan-out of an ad to its recipients.
+ */
+@Name("kawaiiad.Broadcast")
+@Label("Ad Broadcast")
+@Category({"KawaiiAD", "Ad Lifecycle"})
+@Description("Sending an ad to its audience")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class BroadcastEvent extends Event {
+
+    @Label("Scope")
+    @Description("global, world, perm, channel:<name> or scheduled")
+    public String scope;
+
+    @Label("Recipients")
+    public int recipients;
+}
@@ -0,0 +1,27 @@
+package dev.oumaimaa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Covers a cooldown timestamp lookup, recording whether the database had to be queried.
+ */
+@Name("kawaiiad.CooldownLookup")
+@Label("Cooldown Lookup")
+@Category({"KawaiiAD", "Cooldowns"})
+@Description("Lookup of a player's last ad time")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class CooldownLookupEvent extends Event {
+
+    @Label("Player UUID")
+    public String uuid;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+}
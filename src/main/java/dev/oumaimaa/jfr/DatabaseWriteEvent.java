@@ -0,0 +1,28 @@
+package dev.oumaimaa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Covers one asynchronous database write, from connection checkout to completion.
+ * Writes faster than the threshold are not recorded.
+ */
+@Name("kawaiiad.DatabaseWrite")
+@Label("Database Write")
+@Category({"KawaiiAD", "Database"})
+@Description("Asynchronous KawaiiAD database write")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class DatabaseWriteEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Success")
+    public boolean success;
+}
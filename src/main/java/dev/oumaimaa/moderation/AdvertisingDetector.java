@@ -0,0 +1,220 @@
+package dev.oumaimaa.moderation;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Detects server addresses in ads: domains, IPv4 addresses with optional ports, and common obfuscations
+ * such as "play dot server dot net", "play(dot)server.net", "play[.]server.net" or "play . server . net".
+ * A period followed by a space ends a sentence and is never bridged, so "Best shop. It has everything" is not an address.
+ * <p>
+ * The message is normalized into a reused buffer in one pass and then tokenized in place, so a scan
+ * allocates nothing once the buffer has grown to the longest message seen.
+ */
+public final class AdvertisingDetector {
+
+    private static final String LEGACY_CODES = "0123456789abcdefklmnor";
+    private static final String[] KNOWN_TLDS = {
+            "com", "net", "org", "gg", "io", "me", "co", "us", "uk", "de", "fr", "nl", "eu", "es", "it", "pl", "ru",
+            "br", "ca", "au", "tk", "ml", "ga", "cf", "gq", "xyz", "club", "online", "pro", "fun", "world", "info",
+            "biz", "tv", "cc", "ws", "site", "space", "live", "host", "games", "network", "mc", "top", "icu", "dev"
+    };
+
+    private char[] buffer = new char[256];
+
+    /**
+     * Scans the message for an advertised address that is not whitelisted.
+     *
+     * @param message   The raw ad message.
+     * @param whitelist The compiled domain whitelist.
+     * @return true if the message advertises a non-whitelisted address.
+     */
+    public synchronized boolean containsAdvertisement(final @NotNull String message, final @NotNull DomainWhitelist whitelist) {
+        final int length = normalize(message);
+
+        int tokenStart = -1;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && buffer[i] != ' ') {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+                continue;
+            }
+            if (tokenStart >= 0 && isAdvertisedAddress(tokenStart, i, whitelist)) {
+                return true;
+            }
+            tokenStart = -1;
+        }
+        return false;
+    }
+
+    /**
+     * Lower-cases the message into the buffer, turning dot obfuscations into '.', joining the words around them,
+     * stripping color codes and collapsing every other separator into a single space.
+     *
+     * @return The number of characters written.
+     */
+    private int normalize(final String message) {
+        final int inputLength = message.length();
+        if (buffer.length < inputLength) {
+            buffer = new char[Math.max(inputLength, buffer.length * 2)];
+        }
+
+        int length = 0;
+        boolean afterDot = false;
+        for (int i = 0; i < inputLength; i++) {
+            final char c = Character.toLowerCase(message.charAt(i));
+
+            if ((c == '&' || c == '§') && i + 1 < inputLength && LEGACY_CODES.indexOf(Character.toLowerCase(message.charAt(i + 1))) >= 0) {
+                i++;
+                continue;
+            }
+
+            if (c == '.' || c == '。' || c == '｡' || c == '．' || c == '·') {
+                // Bridged only when it is not a sentence end: either nothing but a word follows ("server.net"),
+                // or whitespace sits on both sides ("server . net").
+                length = appendDot(length);
+                afterDot = !isWhitespaceAt(message, i + 1) || isWhitespaceAt(message, i - 1);
+                continue;
+            }
+
+            if ((c == '(' || c == '[' || c == '{') && isWord(message, i + 1, "dot") && i + 4 < inputLength && isClosingBracket(message.charAt(i + 4))) {
+                length = appendDot(length);
+                afterDot = true;
+                i += 4;
+                continue;
+            }
+
+            if ((c == '(' || c == '[' || c == '{') && i + 2 < inputLength && message.charAt(i + 1) == '.' && isClosingBracket(message.charAt(i + 2))) {
+                length = appendDot(length);
+                afterDot = true;
+                i += 2;
+                continue;
+            }
+
+            if (c == 'd' && length > 0 && buffer[length - 1] == ' ' && isWord(message, i, "dot")
+                    && (i + 3 == inputLength || !Character.isLetterOrDigit(message.charAt(i + 3)))) {
+                length = appendDot(length);
+                afterDot = true;
+                i += 2;
+                continue;
+            }
+
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == ':') {
+                buffer[length++] = c;
+                afterDot = false;
+                continue;
+            }
+
+            if (!afterDot && length > 0 && buffer[length - 1] != ' ') {
+                buffer[length++] = ' ';
+            }
+        }
+        return length;
+    }
+
+    private int appendDot(int length) {
+        while (length > 0 && buffer[length - 1] == ' ') {
+            length--;
+        }
+        buffer[length++] = '.';
+        return length;
+    }
+
+    private boolean isAdvertisedAddress(int start, int end, final DomainWhitelist whitelist) {
+        while (start < end && (buffer[start] == '.' || buffer[start] == ':')) {
+            start++;
+        }
+        while (end > start && (buffer[end - 1] == '.' || buffer[end - 1] == ':')) {
+            end--;
+        }
+
+        int hostEnd = end;
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == ':') {
+                hostEnd = i;
+                break;
+            }
+        }
+        if (hostEnd - start < 3) {
+            return false;
+        }
+
+        if (isIpv4(start, hostEnd)) {
+            return true;
+        }
+        return isDomain(start, hostEnd) && !whitelist.isAllowed(buffer, start, hostEnd);
+    }
+
+    private boolean isIpv4(final int start, final int end) {
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer[i] == '.') {
+                if (digits == 0 || value > 255) {
+                    return false;
+                }
+                octets++;
+                value = 0;
+                digits = 0;
+            } else if (buffer[i] >= '0' && buffer[i] <= '9' && digits < 3) {
+                value = value * 10 + (buffer[i] - '0');
+                digits++;
+            } else {
+                return false;
+            }
+        }
+        return octets == 4;
+    }
+
+    private boolean isDomain(final int start, final int end) {
+        int labelStart = start;
+        int labels = 0;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer[i] == '.') {
+                if (i == labelStart) {
+                    return false;
+                }
+                labels++;
+                if (i < end) {
+                    labelStart = i + 1;
+                }
+            } else if (buffer[i] == ':') {
+                return false;
+            }
+        }
+        return labels >= 2 && isKnownTld(labelStart, end);
+    }
+
+    private boolean isKnownTld(final int start, final int end) {
+        final int length = end - start;
+        for (final String tld : KNOWN_TLDS) {
+            if (tld.length() != length) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < length; i++) {
+                if (buffer[start + i] != tld.charAt(i)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWord(final String message, final int index, final String word) {
+        return message.regionMatches(true, index, word, 0, word.length());
+    }
+
+    private static boolean isWhitespaceAt(final String message, final int index) {
+        return index >= 0 && index < message.length() && Character.isWhitespace(message.charAt(index));
+    }
+
+    private static boolean isClosingBracket(final char c) {
+        return c == ')' || c == ']' || c == '}';
+    }
+}
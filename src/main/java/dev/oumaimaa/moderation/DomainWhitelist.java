@@ -0,0 +1,71 @@
+package dev.oumaimaa.moderation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * A compiled set of domains players may mention in ads. A domain also allows all of its subdomains.
+ * Matching compares directly against the scanner's buffer, so it never allocates.
+ */
+public final class DomainWhitelist {
+
+    private static final DomainWhitelist EMPTY = new DomainWhitelist(new String[0]);
+
+    private final String[] domains;
+
+    private DomainWhitelist(final String[] domains) {
+        this.domains = domains;
+    }
+
+    /**
+     * Compiles configured domain entries, lower-casing them and dropping wildcard or "www." prefixes.
+     *
+     * @param entries The configured domains.
+     * @return The compiled whitelist.
+     */
+    public static @NotNull DomainWhitelist compile(final @NotNull Collection<String> entries) {
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        return new DomainWhitelist(entries.stream()
+                .map(entry -> entry.trim().toLowerCase(Locale.ROOT))
+                .map(entry -> entry.startsWith("*.") ? entry.substring(2) : entry)
+                .map(entry -> entry.startsWith("www.") ? entry.substring(4) : entry)
+                .filter(entry -> !entry.isEmpty())
+                .distinct()
+                .toArray(String[]::new));
+    }
+
+    /**
+     * Checks whether the host in buffer[start, end) is a whitelisted domain or one of its subdomains.
+     *
+     * @param buffer The lower-cased scanner buffer.
+     * @param start  The host start index, inclusive.
+     * @param end    The host end index, exclusive.
+     * @return true if the host is allowed.
+     */
+    boolean isAllowed(final char[] buffer, final int start, final int end) {
+        final int length = end - start;
+        for (final String domain : domains) {
+            final int domainLength = domain.length();
+            if (length == domainLength && regionEquals(buffer, start, domain)) {
+                return true;
+            }
+            if (length > domainLength && buffer[end - domainLength - 1] == '.' && regionEquals(buffer, end - domainLength, domain)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionEquals(final char[] buffer, final int offset, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (buffer[offset + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
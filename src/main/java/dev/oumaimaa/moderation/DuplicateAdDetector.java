@@ -0,0 +1,221 @@
+package dev.oumaimaa.moderation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Detects near-duplicate advertisements using 64-bit SimHash fingerprints.
+ * Recent fingerprints are kept in a fixed-size ring, so memory is bounded regardless of how many ads have been submitted.
+ * <p>
+ * Each fingerprint is also split into {@value #BANDS} bands of {@value #BAND_BITS} bits, and every band value has a bucket
+ * chaining the ring slots that hold it. Two fingerprints within fewer than {@value #BANDS} differing bits must agree
+ * exactly on at least one band, so a lookup only compares the few slots sharing a band with the message
+ * instead of the whole ring. Larger distances fall back to scanning the ring.
+ */
+public final class DuplicateAdDetector {
+
+    private static final int SHINGLE_SIZE = 4;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int BANDS = 8;
+    private static final int BAND_BITS = Long.SIZE / BANDS;
+    private static final int BAND_MASK = (1 << BAND_BITS) - 1;
+    private static final int NONE = -1;
+
+    private final long[] fingerprints;
+    private final long[] timestamps;
+    private final int[][] bucketHeads = new int[BANDS][1 << BAND_BITS];
+    private final int[][] nextInBucket;
+    private final int[][] previousInBucket;
+    private final int[] bitWeights = new int[Long.SIZE];
+    private final char[] normalizeBuffer;
+    private int head;
+    private int size;
+
+    /**
+     * Constructs the detector.
+     *
+     * @param capacity  The maximum number of recent fingerprints to retain.
+     * @param maxLength The longest ad that will be fingerprinted (longer input is truncated).
+     */
+    public DuplicateAdDetector(final int capacity, final int maxLength) {
+        final int boundedCapacity = Math.max(1, capacity);
+        this.fingerprints = new long[boundedCapacity];
+        this.timestamps = new long[boundedCapacity];
+        this.nextInBucket = new int[BANDS][boundedCapacity];
+        this.previousInBucket = new int[BANDS][boundedCapacity];
+        this.normalizeBuffer = new char[Math.max(SHINGLE_SIZE, maxLength)];
+        clear();
+    }
+
+    /**
+     * Checks whether the message is within the given Hamming distance of a fingerprint recorded inside the window.
+     *
+     * @param message      The raw ad message.
+     * @param maxDistance  The largest Hamming distance still treated as a duplicate.
+     * @param windowMillis How far back recorded fingerprints are considered.
+     * @return true if a near-duplicate was recently recorded.
+     */
+    public synchronized boolean isNearDuplicate(final @NotNull String message, final int maxDistance, final long windowMillis) {
+        final long fingerprint = fingerprint(message);
+        final long cutoff = System.currentTimeMillis() - windowMillis;
+
+        if (maxDistance >= BANDS) {
+            for (int i = 0; i < size; i++) {
+                if (matches(i, fingerprint, maxDistance, cutoff)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int band = 0; band < BANDS; band++) {
+            for (int slot = bucketHeads[band][bandValue(fingerprint, band)]; slot != NONE; slot = nextInBucket[band][slot]) {
+                if (matches(slot, fingerprint, maxDistance, cutoff)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(final int slot, final long fingerprint, final int maxDistance, final long cutoff) {
+        return timestamps[slot] >= cutoff && Long.bitCount(fingerprints[slot] ^ fingerprint) <= maxDistance;
+    }
+
+    /**
+     * Records the message's fingerprint, evicting the oldest entry once the ring is full.
+     *
+     * @param message The raw ad message that was accepted.
+     */
+    public synchronized void record(final @NotNull String message) {
+        final long fingerprint = fingerprint(message);
+        if (size == fingerprints.length) {
+            unlink(head);
+        } else {
+            size++;
+        }
+        fingerprints[head] = fingerprint;
+        timestamps[head] = System.currentTimeMillis();
+        link(head);
+        head = (head + 1) % fingerprints.length;
+    }
+
+    /**
+     * Forgets every recorded fingerprint.
+     */
+    public synchronized void clear() {
+        for (final int[] heads : bucketHeads) {
+            Arrays.fill(heads, NONE);
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Pushes a slot onto the front of its bucket in every band.
+     */
+    private void link(final int slot) {
+        for (int band = 0; band < BANDS; band++) {
+            final int[] heads = bucketHeads[band];
+            final int bucket = bandValue(fingerprints[slot], band);
+            final int first = heads[bucket];
+            nextInBucket[band][slot] = first;
+            previousInBucket[band][slot] = NONE;
+            if (first != NONE) {
+                previousInBucket[band][first] = slot;
+            }
+            heads[bucket] = slot;
+        }
+    }
+
+    /**
+     * Removes a slot from its bucket in every band, before the slot is overwritten.
+     */
+    private void unlink(final int slot) {
+        for (int band = 0; band < BANDS; band++) {
+            final int previous = previousInBucket[band][slot];
+            final int next = nextInBucket[band][slot];
+            if (previous == NONE) {
+                bucketHeads[band][bandValue(fingerprints[slot], band)] = next;
+            } else {
+                nextInBucket[band][previous] = next;
+            }
+            if (next != NONE) {
+                previousInBucket[band][next] = previous;
+            }
+        }
+    }
+
+    private static int bandValue(final long fingerprint, final int band) {
+        return (int) (fingerprint >>> (band * BAND_BITS)) & BAND_MASK;
+    }
+
+    /**
+     * Computes the SimHash of the normalized message over overlapping character shingles.
+     * Must be called while holding the monitor, since it reuses the scratch buffers.
+     */
+    private long fingerprint(final String message) {
+        final int length = normalize(message);
+        if (length == 0) {
+            return 0L;
+        }
+
+        Arrays.fill(bitWeights, 0);
+        final int shingles = Math.max(1, length - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingles; start++) {
+            final int end = Math.min(length, start + SHINGLE_SIZE);
+            long hash = FNV_OFFSET_BASIS;
+            for (int i = start; i < end; i++) {
+                hash ^= normalizeBuffer[i];
+                hash *= FNV_PRIME;
+            }
+            hash = mix(hash);
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                bitWeights[bit] += ((hash >>> bit) & 1L) != 0 ? 1 : -1;
+            }
+        }
+
+        long simHash = 0L;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (bitWeights[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return simHash;
+    }
+
+    /**
+     * Lower-cases the message into the scratch buffer, dropping color codes and everything but letters and digits
+     * so that spacing, punctuation and formatting changes produce the same shingles.
+     *
+     * @return The number of characters written.
+     */
+    private int normalize(final String message) {
+        int length = 0;
+        for (int i = 0; i < message.length() && length < normalizeBuffer.length; i++) {
+            final char c = message.charAt(i);
+            if ((c == '&' || c == '§') && i + 1 < message.length()) {
+                i++;
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                normalizeBuffer[length++] = Character.toLowerCase(c);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * MurmurHash3 finalizer, spreading FNV's weak low bits across the whole word.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
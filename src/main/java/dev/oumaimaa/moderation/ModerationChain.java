@@ -0,0 +1,116 @@
+package dev.oumaimaa.moderation;
+
+import dev.oumaimaa.config.AdsConfigManager;
+import dev.oumaimaa.jfr.AdValidationEvent;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs an ad through the moderation stages configured in moderation.chain, in order, stopping at the first rejection.
+ */
+public final class ModerationChain {
+
+    public static final String LENGTH_STAGE = "length";
+    public static final String PROFANITY_STAGE = "profanity";
+    public static final String ADVERTISING_STAGE = "advertising";
+    public static final List<String> DEFAULT_STAGES = List.of(LENGTH_STAGE, PROFANITY_STAGE, ADVERTISING_STAGE);
+    private static final Set<String> KNOWN_STAGES = Set.copyOf(DEFAULT_STAGES);
+
+    private final AdsConfigManager configManager;
+    private final AdvertisingDetector advertisingDetector = new AdvertisingDetector();
+    private final Map<String, ModerationStage> stages;
+
+    /**
+     * Constructs the chain.
+     *
+     * @param configManager The configuration manager supplying limits, filters and the stage order.
+     */
+    public ModerationChain(final @NotNull AdsConfigManager configManager) {
+        this.configManager = configManager;
+        this.stages = Map.of(
+                LENGTH_STAGE, this::checkLength,
+                PROFANITY_STAGE, this::checkProfanity,
+                ADVERTISING_STAGE, this::checkAdvertising
+        );
+    }
+
+    /**
+     * @param name A configured stage name.
+     * @return true if the chain knows a stage by that name.
+     */
+    public static boolean isKnownStage(final @NotNull String name) {
+        return KNOWN_STAGES.contains(name);
+    }
+
+    /**
+     * Runs every configured stage against the message.
+     *
+     * @param viewer  The sender whose locale is used for the rejection message.
+     * @param message The raw ad message.
+     * @return The raw rejection message of the first failing stage, or null if the ad passed.
+     */
+    public @Nullable String check(final @NotNull CommandSender viewer, final @NotNull String message) {
+        final AdValidationEvent event = new AdValidationEvent();
+        event.begin();
+
+        String error = null;
+        String rejectedStage = "";
+        for (final String stageName : configManager.getModerationChain()) {
+            error = stages.get(stageName).check(viewer, message);
+            if (error != null) {
+                rejectedStage = stageName;
+                break;
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.messageLength = message.length();
+            event.rejectedStage = rejectedStage;
+            event.commit();
+        }
+        return error;
+    }
+
+    private @Nullable String checkLength(final CommandSender viewer, final String message) {
+        final int minChars = configManager.getMinLength();
+        final int maxChars = configManager.getMaxLength();
+
+        if (message.length() < minChars) {
+            return configManager.getMessageTemplate(viewer, "error-too-short", "&cAd must be at least %min% characters.")
+                    .replace("%min%", String.valueOf(minChars));
+        }
+        if (message.length() > maxChars) {
+            return configManager.getMessageTemplate(viewer, "error-too-long", "&cAd must be no more than %max% characters.")
+                    .replace("%max%", String.valueOf(maxChars));
+        }
+        return null;
+    }
+
+    private @Nullable String checkProfanity(final CommandSender viewer, final String message) {
+        final List<String> filter = configManager.getProfanityFilter();
+        if (filter.isEmpty()) {
+            return null;
+        }
+
+        final String lowerCaseMessage = message.toLowerCase(Locale.ROOT);
+        for (final String word : filter) {
+            if (lowerCaseMessage.contains(word)) {
+                return configManager.getMessageTemplate(viewer, "error-profanity", "&cAdvertisement contains blacklisted words.");
+            }
+        }
+        return null;
+    }
+
+    private @Nullable String checkAdvertising(final CommandSender viewer, final String message) {
+        if (advertisingDetector.containsAdvertisement(message, configManager.getAdvertisingWhitelist())) {
+            return configManager.getMessageTemplate(viewer, "error-advertising", "&cAdvertising other servers is not allowed.");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,21 @@
+package dev.oumaimaa.moderation;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single check in the moderation chain.
+ */
+@FunctionalInterface
+public interface ModerationStage {
+
+    /**
+     * Checks an ad message.
+     *
+     * @param viewer  The sender whose locale is used for the rejection message.
+     * @param message The raw ad message.
+     * @return The raw rejection message, or null if the ad passes this stage.
+     */
+    @Nullable String check(@NotNull CommandSender viewer, @NotNull String message);
+}
@@ -0,0 +1,173 @@
+package dev.oumaimaa.papi;
+
+import me.clip.placeholderapi.PlaceholderAPI;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An ad body parsed once into literal and PlaceholderAPI segments.
+ * Literal segments are deserialized up front; only placeholder segments are resolved when the ad is rendered.
+ */
+public final class CompiledAdMessage {
+
+    private static final String LEGACY_CODES = "0123456789abcdefklmnor";
+    private static final int HEX_COLOR_LENGTH = 6;
+
+    private final String raw;
+    private final Component literalComponent;
+    private final List<Segment> segments;
+    private final boolean hasPlaceholders;
+    private final LegacyComponentSerializer serializer;
+
+    private CompiledAdMessage(final String raw, final Component literalComponent, final List<Segment> segments,
+                              final boolean hasPlaceholders, final LegacyComponentSerializer serializer) {
+        this.raw = raw;
+        this.literalComponent = literalComponent;
+        this.segments = segments;
+        this.hasPlaceholders = hasPlaceholders;
+        this.serializer = serializer;
+    }
+
+    /**
+     * Parses a raw ad body into segments.
+     * Each segment remembers the legacy formatting active at its start, so splitting never changes colors.
+     *
+     * @param raw        The raw ad message using '&' color codes.
+     * @param serializer The legacy serializer used for literal text and resolved placeholder values.
+     * @return The compiled message.
+     */
+    public static @NotNull CompiledAdMessage compile(final @NotNull String raw, final @NotNull LegacyComponentSerializer serializer) {
+        final List<Segment> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        String activeFormat = "";
+        String literalFormat = "";
+        boolean hasPlaceholders = false;
+
+        int i = 0;
+        while (i < raw.length()) {
+            final char c = raw.charAt(i);
+
+            if (c == '&' && i + 1 < raw.length()) {
+                final int codeLength = legacyCodeLength(raw, i);
+                if (codeLength > 0) {
+                    final String code = raw.substring(i, i + codeLength);
+                    final char type = Character.toLowerCase(raw.charAt(i + 1));
+                    activeFormat = (type >= 'k' && type <= 'o') ? activeFormat + code : code;
+                    literal.append(code);
+                    i += codeLength;
+                    continue;
+                }
+            }
+
+            if (c == '%') {
+                final int end = raw.indexOf('%', i + 1);
+                if (end > i + 1 && isPlaceholderIdentifier(raw, i + 1, end)) {
+                    if (!literal.isEmpty()) {
+                        segments.add(new Segment(serializer.deserialize(literalFormat + literal), null, literalFormat));
+                        literal.setLength(0);
+                    }
+                    segments.add(new Segment(null, raw.substring(i, end + 1), activeFormat));
+                    hasPlaceholders = true;
+                    literalFormat = activeFormat;
+                    i = end + 1;
+                    continue;
+                }
+            }
+
+            literal.append(c);
+            i++;
+        }
+
+        if (!literal.isEmpty()) {
+            segments.add(new Segment(serializer.deserialize(literalFormat + literal), null, literalFormat));
+        }
+
+        return new CompiledAdMessage(raw, serializer.deserialize(raw), List.copyOf(segments), hasPlaceholders, serializer);
+    }
+
+    /**
+     * Renders the ad for broadcast, resolving only the placeholder segments.
+     *
+     * @param viewer The player placeholders are resolved against, or null for non-player senders.
+     * @return The rendered component.
+     */
+    public @NotNull Component render(final @Nullable OfflinePlayer viewer) {
+        if (!hasPlaceholders || !Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
+            return literalComponent;
+        }
+
+        final TextComponent.Builder builder = Component.text();
+        for (final Segment segment : segments) {
+            if (segment.literal() != null) {
+                builder.append(segment.literal());
+            } else {
+                final String value = PlaceholderAPI.setPlaceholders(viewer, segment.placeholder());
+                builder.append(serializer.deserialize(segment.format() + value));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return The message with placeholders left unresolved, as shown in previews.
+     */
+    public @NotNull Component getLiteralComponent() {
+        return literalComponent;
+    }
+
+    /**
+     * @return The original raw message.
+     */
+    public @NotNull String getRaw() {
+        return raw;
+    }
+
+    /**
+     * @return true if the message contains at least one PlaceholderAPI placeholder.
+     */
+    public boolean hasPlaceholders() {
+        return hasPlaceholders;
+    }
+
+    /**
+     * Returns the length of the legacy formatting code at the given '&', or 0 if it is not one.
+     */
+    private static int legacyCodeLength(final String raw, final int index) {
+        final char next = Character.toLowerCase(raw.charAt(index + 1));
+        if (LEGACY_CODES.indexOf(next) >= 0) {
+            return 2;
+        }
+        if (next == '#' && index + 2 + HEX_COLOR_LENGTH <= raw.length()) {
+            for (int i = index + 2; i < index + 2 + HEX_COLOR_LENGTH; i++) {
+                if (Character.digit(raw.charAt(i), 16) < 0) {
+                    return 0;
+                }
+            }
+            return 2 + HEX_COLOR_LENGTH;
+        }
+        return 0;
+    }
+
+    private static boolean isPlaceholderIdentifier(final String raw, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (Character.isWhitespace(raw.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A prebuilt literal component, or a placeholder with the legacy formatting active before it.
+     */
+    private record Segment(@Nullable Component literal, @Nullable String placeholder, @NotNull String format) {
+    }
+}
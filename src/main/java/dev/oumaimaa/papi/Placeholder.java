@@ -1,8 +1,11 @@
 package dev.oumaimaa.papi;
 
 import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.config.AdChannel;
+import dev.oumaimaa.data.CooldownManager;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
@@ -49,17 +52,35 @@ public final class Placeholder extends PlaceholderExpansion {
     @Override
     public String onRequest(final OfflinePlayer player, @NotNull final String identifier) {
         if (player == null || !player.isOnline()) return null;
+        final Player online = Objects.requireNonNull(player.getPlayer());
 
         if (identifier.equals("cooldown_remaining")) {
-            final long remaining = plugin.getCooldownManager().getRemainingCooldown(Objects.requireNonNull(player.getPlayer()));
+            final long remaining = plugin.getCooldownManager().getRemainingCooldown(online);
+            if (remaining == CooldownManager.LOADING) return loading(online);
+            return plugin.getCooldownManager().formatTime(remaining);
+        }
+
+        if (identifier.startsWith("cooldown_remaining_")) {
+            final AdChannel channel = plugin.getAdsConfigManager().getChannel(identifier.substring("cooldown_remaining_".length()));
+            if (channel == null) return null;
+            final long remaining = plugin.getCooldownManager().getRemainingCooldown(online, channel);
+            if (remaining == CooldownManager.LOADING) return loading(online);
             return plugin.getCooldownManager().formatTime(remaining);
         }
 
         if (identifier.equals("is_on_cooldown")) {
-            final long remaining = plugin.getCooldownManager().getRemainingCooldown(Objects.requireNonNull(player.getPlayer()));
+            final long remaining = plugin.getCooldownManager().getRemainingCooldown(online);
+            if (remaining == CooldownManager.LOADING) return loading(online);
             return remaining > 0 ? "true" : "false";
         }
 
         return null;
     }
+
+    /**
+     * The value shown while the player's cooldowns are still being loaded, rather than a misleading "0s" or "false".
+     */
+    private String loading(final Player player) {
+        return plugin.getAdsConfigManager().getMessageTemplate(player, "placeholder-loading", "loading");
+    }
 }
\ No newline at end of file
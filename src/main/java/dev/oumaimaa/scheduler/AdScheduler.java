@@ -0,0 +1,102 @@
+package dev.oumaimaa.scheduler;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Schedules plugin work on the correct thread for the running platform.
+ * On Paper everything except async work runs on the main thread; on Folia global work runs on the
+ * global region thread and entity work on the thread owning that entity's region.
+ */
+public interface AdScheduler {
+
+    /**
+     * Runs a task on the global (or main) thread after a delay.
+     *
+     * @param task       The task to run.
+     * @param delayTicks The delay in ticks.
+     * @return A handle to cancel the task.
+     */
+    @NotNull TaskHandle runGlobalLater(@NotNull Runnable task, long delayTicks);
+
+    /**
+     * Runs a repeating task on the global (or main) thread.
+     *
+     * @param task        The task to run.
+     * @param delayTicks  The initial delay in ticks.
+     * @param periodTicks The period in ticks.
+     * @return A handle to cancel the task.
+     */
+    @NotNull TaskHandle runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs a task off the server threads.
+     *
+     * @param task The task to run.
+     */
+    void runAsync(@NotNull Runnable task);
+
+    /**
+     * Runs a task on the thread that owns the entity. The task is dropped if the entity is removed first.
+     *
+     * @param entity The entity the task operates on.
+     * @param task   The task to run.
+     */
+    void runForEntity(@NotNull Entity entity, @NotNull Runnable task);
+
+    /**
+     * Runs a repeating task on the thread that owns the entity. The task receives its own handle so it can stop itself,
+     * and stops automatically when the entity is removed.
+     *
+     * @param entity      The entity the task operates on.
+     * @param task        The task to run.
+     * @param delayTicks  The initial delay in ticks.
+     * @param periodTicks The period in ticks.
+     */
+    void runForEntityTimer(@NotNull Entity entity, @NotNull Consumer<TaskHandle> task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs a task that messages a command sender where that is safe: a player on their own thread,
+     * the console at once since it may be messaged from any thread, and any other sender on the global thread.
+     *
+     * @param sender The sender the task messages.
+     * @param task   The task to run.
+     */
+    default void runForSender(final @NotNull CommandSender sender, final @NotNull Runnable task) {
+        if (sender instanceof Player player) {
+            runForEntity(player, task);
+        } else if (sender instanceof ConsoleCommandSender) {
+            task.run();
+        } else {
+            runGlobalLater(task, 1L);
+        }
+    }
+
+    /**
+     * Creates the scheduler matching the running server.
+     *
+     * @param plugin The owning plugin.
+     * @return A Folia scheduler on Folia, otherwise a Bukkit scheduler.
+     */
+    static @NotNull AdScheduler create(final @NotNull Plugin plugin) {
+        return isFolia() ? new FoliaAdScheduler(plugin) : new PaperAdScheduler(plugin);
+    }
+
+    /**
+     * @return true if the server is running Folia's regionised threading.
+     */
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package dev.oumaimaa.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Scheduler for Folia servers, using the global region, entity and async schedulers.
+ * Folia rejects delays below one tick, so every delay is clamped to at least one.
+ */
+final class FoliaAdScheduler implements AdScheduler {
+
+    private final Plugin plugin;
+
+    FoliaAdScheduler(final @NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public @NotNull TaskHandle runGlobalLater(final @NotNull Runnable task, final long delayTicks) {
+        return Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1L, delayTicks))::cancel;
+    }
+
+    @Override
+    public @NotNull TaskHandle runGlobalTimer(final @NotNull Runnable task, final long delayTicks, final long periodTicks) {
+        return Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1L, delayTicks), Math.max(1L, periodTicks))::cancel;
+    }
+
+    @Override
+    public void runAsync(final @NotNull Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+    }
+
+    @Override
+    public void runForEntity(final @NotNull Entity entity, final @NotNull Runnable task) {
+        entity.getScheduler().run(plugin, scheduled -> task.run(), null);
+    }
+
+    @Override
+    public void runForEntityTimer(final @NotNull Entity entity, final @NotNull Consumer<TaskHandle> task, final long delayTicks, final long periodTicks) {
+        entity.getScheduler().runAtFixedRate(plugin, scheduled -> task.accept(scheduled::cancel), null, Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+    }
+}
@@ -0,0 +1,55 @@
+package dev.oumaimaa.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Scheduler for single-threaded Paper servers, backed by the Bukkit scheduler.
+ */
+final class PaperAdScheduler implements AdScheduler {
+
+    private final Plugin plugin;
+
+    PaperAdScheduler(final @NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public @NotNull TaskHandle runGlobalLater(final @NotNull Runnable task, final long delayTicks) {
+        return Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks)::cancel;
+    }
+
+    @Override
+    public @NotNull TaskHandle runGlobalTimer(final @NotNull Runnable task, final long delayTicks, final long periodTicks) {
+        return Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    @Override
+    public void runAsync(final @NotNull Runnable task) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    @Override
+    public void runForEntity(final @NotNull Entity entity, final @NotNull Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    @Override
+    public void runForEntityTimer(final @NotNull Entity entity, final @NotNull Consumer<TaskHandle> task, final long delayTicks, final long periodTicks) {
+        Bukkit.getScheduler().runTaskTimer(plugin, bukkitTask -> {
+            if (!entity.isValid()) {
+                bukkitTask.cancel();
+                return;
+            }
+            task.accept(bukkitTask::cancel);
+        }, delayTicks, periodTicks);
+    }
+}
@@ -0,0 +1,13 @@
+package dev.oumaimaa.scheduler;
+
+/**
+ * A platform-neutral handle to a scheduled task.
+ */
+@FunctionalInterface
+public interface TaskHandle {
+
+    /**
+     * Cancels the task if it has not already finished.
+     */
+    void cancel();
+}
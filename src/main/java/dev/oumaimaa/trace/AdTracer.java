@@ -0,0 +1,187 @@
+package dev.oumaimaa.trace;
+
+import dev.oumaimaa.KawaiiAdPlugin;
+import dev.oumaimaa.config.AdsConfigManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records debug trace events into a fixed-size, lock-free ring buffer.
+ * A disabled category costs one mask check and nothing else; an enabled one stores the template and its
+ * arguments as-is, and the text is only built when the buffer is dumped with /ads trace dump.
+ */
+public final class AdTracer {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+
+    private final KawaiiAdPlugin plugin;
+    private final AdsConfigManager configManager;
+    private final AtomicReferenceArray<TraceEvent> ring;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Constructs the tracer. The buffer size is rounded up to a power of two and fixed until restart.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public AdTracer(final @NotNull KawaiiAdPlugin plugin) {
+        this.plugin = plugin;
+        this.configManager = plugin.getAdsConfigManager();
+        final int capacity = Integer.highestOneBit(Math.max(16, configManager.getTraceBufferSize()) - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @param category The category to check.
+     * @return true if events in the category are currently recorded.
+     */
+    public boolean isEnabled(final @NotNull TraceCategory category) {
+        return (configManager.getTraceCategoryMask() & category.bit()) != 0;
+    }
+
+    public void trace(final @NotNull TraceCategory category, final @NotNull String template) {
+        if (isEnabled(category)) {
+            record(category, template, null);
+        }
+    }
+
+    public void trace(final @NotNull TraceCategory category, final @NotNull String template, final @Nullable Object arg) {
+        if (isEnabled(category)) {
+            record(category, template, new Object[]{arg});
+        }
+    }
+
+    public void trace(final @NotNull TraceCategory category, final @NotNull String template, final @Nullable Object arg1,
+                      final @Nullable Object arg2) {
+        if (isEnabled(category)) {
+            record(category, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void trace(final @NotNull TraceCategory category, final @NotNull String template, final @Nullable Object arg1,
+                      final @Nullable Object arg2, final @Nullable Object arg3) {
+        if (isEnabled(category)) {
+            record(category, template, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    /**
+     * Primitive arguments have their own overloads so they are only boxed once the category is known to be enabled.
+     */
+    public void trace(final @NotNull TraceCategory category, final @NotNull String template, final @Nullable Object arg1, final int arg2) {
+        if (isEnabled(category)) {
+            record(category, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void trace(final @NotNull TraceCategory category, final @NotNull String template, final @Nullable Object arg1, final long arg2) {
+        if (isEnabled(category)) {
+            record(category, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void trace(final @NotNull TraceCategory category, final @NotNull String template, final @Nullable Object arg1,
+                      final @Nullable Object arg2, final long arg3) {
+        if (isEnabled(category)) {
+            record(category, template, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    /**
+     * Records an event with any number of arguments. Prefer the fixed-arity overloads: the array is allocated
+     * at the call site even when the category is disabled. Each {} in the template is replaced by the next argument at dump time.
+     */
+    public void trace(final @NotNull TraceCategory category, final @NotNull String template, final @Nullable Object @NotNull ... args) {
+        if (isEnabled(category)) {
+            record(category, template, args);
+        }
+    }
+
+    private void record(final TraceCategory category, final String template, final Object[] args) {
+        final long seq = sequence.getAndIncrement();
+        ring.set((int) (seq & mask), new TraceEvent(seq, System.currentTimeMillis(), Thread.currentThread().getName(), category, template, args));
+    }
+
+    /**
+     * Copies the buffered events, oldest first. Slots overwritten while copying are skipped.
+     *
+     * @return The buffered events.
+     */
+    public @NotNull List<TraceEvent> snapshot() {
+        final long end = sequence.get();
+        final long start = Math.max(0L, end - ring.length());
+        final List<TraceEvent> events = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            final TraceEvent event = ring.get((int) (seq & mask));
+            if (event != null && event.sequence() == seq) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Formats and writes a snapshot of the buffer to traces/trace-&lt;time&gt;.log.
+     * Does blocking I/O; call it off the server threads.
+     *
+     * @param events The events to write, from {@link #snapshot()}.
+     * @return The file written.
+     * @throws IOException If the file could not be written.
+     */
+    public @NotNull File writeDump(final @NotNull List<TraceEvent> events) throws IOException {
+        final File folder = new File(plugin.getDataFolder(), "traces");
+        Files.createDirectories(folder.toPath());
+        final File file = new File(folder, "trace-" + FILE_NAME.format(Instant.now()) + ".log");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (final TraceEvent event : events) {
+                writer.write(TIMESTAMP.format(Instant.ofEpochMilli(event.timestamp())));
+                writer.write(" [" + event.thread() + "] " + event.category() + ": ");
+                writer.write(event.format());
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+
+    /**
+     * One buffered trace entry, kept unformatted until dumped.
+     */
+    public record TraceEvent(long sequence, long timestamp, @NotNull String thread, @NotNull TraceCategory category,
+                             @NotNull String template, @Nullable Object[] args) {
+
+        /**
+         * @return The template with each {} replaced by the next argument.
+         */
+        public @NotNull String format() {
+            if (args == null || args.length == 0) {
+                return template;
+            }
+            final StringBuilder sb = new StringBuilder(template.length() + 16 * args.length);
+            int argIndex = 0;
+            int from = 0;
+            int at;
+            while (argIndex < args.length && (at = template.indexOf("{}", from)) >= 0) {
+                sb.append(template, from, at).append(args[argIndex++]);
+                from = at + 2;
+            }
+            return sb.append(template, from, template.length()).toString();
+        }
+    }
+}
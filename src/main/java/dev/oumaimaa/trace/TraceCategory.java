@@ -0,0 +1,42 @@
+package dev.oumaimaa.trace;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * The areas of the plugin that can be traced independently, enabled through settings.trace.categories.
+ */
+public enum TraceCategory {
+    SUBMISSION,
+    MODERATION,
+    BROADCAST,
+    DATABASE,
+    CONFIG,
+    SCHEDULED;
+
+    /**
+     * Bitmask with every category enabled.
+     */
+    public static final int ALL = (1 << values().length) - 1;
+
+    /**
+     * @return This category's bit in an enabled-categories mask.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @param name A category name from config.yml, in any case.
+     * @return The matching category, or null if there is none.
+     */
+    public static @Nullable TraceCategory fromName(final @NotNull String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.oumaimaa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the synthetic rush and logs its measurements. It takes about a minute, so it only runs on request:
+ * {@code mvn test -Dtest=AdsLoadTest -Dkawaiiad.load=true}, optionally with -Dkawaiiad.load.players=5000 and friends.
+ */
+@EnabledIfSystemProperty(named = "kawaiiad.load", matches = "true")
+class AdsLoadTest {
+
+    private static final Logger LOGGER = Logger.getLogger(AdsLoadTest.class.getName());
+
+    @Test
+    void sustainsSyntheticRush(@TempDir final File dataFolder) throws Exception {
+        final LoadHarness.Report report = new LoadHarness(dataFolder, LoadHarness.Settings.fromSystemProperties()).run();
+        LOGGER.info(report::format);
+
+        if (report.firstError() != null) {
+            throw new AssertionError(report.taskErrors() + " scheduled task runs threw", report.firstError());
+        }
+        assertEquals(0, report.finalQueueDepth(), "writes still queued after the drain");
+        assertEquals(0L, report.failedWrites(), "failed database writes");
+        assertTrue(report.persistedRows() > 0, "no cooldown rows were stored");
+    }
+}
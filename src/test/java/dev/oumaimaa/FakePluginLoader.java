@@ -0,0 +1,52 @@
+package dev.oumaimaa;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginLoader;
+import org.bukkit.plugin.RegisteredListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The plugin loader JavaPlugin looks up as a service when it is created outside a server.
+ * The load harness never loads plugins through it, so every operation is unsupported.
+ */
+public final class FakePluginLoader implements PluginLoader {
+
+    @Override
+    public @NotNull Plugin loadPlugin(final @NotNull File file) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull PluginDescriptionFile getPluginDescription(final @NotNull File file) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull Pattern @NotNull [] getPluginFileFilters() {
+        return new Pattern[0];
+    }
+
+    @Override
+    public @NotNull Map<Class<? extends Event>, Set<RegisteredListener>> createRegisteredListeners(final @NotNull Listener listener,
+                                                                                                     final @NotNull Plugin plugin) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void enablePlugin(final @NotNull Plugin plugin) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void disablePlugin(final @NotNull Plugin plugin) {
+        throw new UnsupportedOperationException();
+    }
+}
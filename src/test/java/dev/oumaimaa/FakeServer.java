@@ -0,0 +1,295 @@
+package dev.oumaimaa;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.UnsafeValues;
+import org.bukkit.World;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.permissions.Permission;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Plain stand-ins for the Bukkit server, its worlds and players, built from dynamic proxies.
+ * Only the calls KawaiiAD makes are answered; every other method returns an empty or zero value.
+ * Listeners registered with the plugin manager receive the events passed to its callEvent, in priority order.
+ * PlaceholderAPI reports as disabled, so placeholders inside ad bodies stay literal text.
+ */
+final class FakeServer {
+
+    private final Logger logger;
+    private final TickScheduler scheduler;
+    private final DoubleSupplier averageTickTime;
+    private final Map<String, World> worlds = new HashMap<>();
+    private final List<Player> onlinePlayers = new CopyOnWriteArrayList<>();
+    private final Map<UUID, Player> playersById = new ConcurrentHashMap<>();
+    private final Map<String, Player> playersByName = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder playerMessages = new LongAdder();
+    private final List<String> consoleLines = new CopyOnWriteArrayList<>();
+    private final Server server;
+    private final PluginManager pluginManager;
+    private final ConsoleCommandSender console;
+    private final UnsafeValues unsafe;
+
+    FakeServer(final @NotNull Logger logger, final @NotNull TickScheduler scheduler, final @NotNull DoubleSupplier averageTickTime,
+               final @NotNull String @NotNull ... worldNames) {
+        this.logger = logger;
+        this.scheduler = scheduler;
+        this.averageTickTime = averageTickTime;
+        for (final String name : worldNames) {
+            worlds.put(name, newWorld(name));
+        }
+        this.pluginManager = proxy(PluginManager.class, (self, method, args) -> switch (method.getName()) {
+            case "registerEvents" -> {
+                listeners.add((Listener) args[0]);
+                yield null;
+            }
+            case "callEvent" -> {
+                callEvent((Event) args[0]);
+                yield null;
+            }
+            default -> answer(self, method, args, "FakePluginManager");
+        });
+        this.console = proxy(ConsoleCommandSender.class, (self, method, args) -> switch (method.getName()) {
+            case "getName" -> "CONSOLE";
+            case "hasPermission", "isPermissionSet", "isOp" -> true;
+            case "sendMessage", "sendPlainMessage", "sendRichMessage" -> {
+                consoleLines.add(plain(args[args.length - 1]));
+                yield null;
+            }
+            default -> answer(self, method, args, "FakeConsole");
+        });
+        // JavaPlugin asks for a lifecycle event manager; the harness registers no commands, so any stub will do.
+        this.unsafe = stub(UnsafeValues.class);
+        this.server = proxy(Server.class, (self, method, args) -> switch (method.getName()) {
+            case "getOnlinePlayers" -> Collections.unmodifiableList(onlinePlayers);
+            case "getPlayer", "getPlayerExact", "getOfflinePlayerIfCached" -> args[0] instanceof UUID uuid
+                    ? playersById.get(uuid) : playersByName.get(String.valueOf(args[0]).toLowerCase(Locale.ROOT));
+            case "getWorld" -> args[0] instanceof String name ? worlds.get(name) : null;
+            case "getWorlds" -> List.copyOf(worlds.values());
+            case "getConsoleSender" -> console;
+            case "getPluginManager" -> pluginManager;
+            case "getScheduler" -> scheduler.asBukkitScheduler();
+            case "getUnsafe" -> unsafe;
+            case "getAverageTickTime" -> averageTickTime.getAsDouble();
+            case "getTPS" -> new double[]{20.0, 20.0, 20.0};
+            case "isPrimaryThread" -> scheduler.isMainThread();
+            case "getLogger" -> logger;
+            case "getName" -> "KawaiiAD load harness";
+            case "getVersion", "getBukkitVersion", "getMinecraftVersion" -> "load-harness";
+            default -> answer(self, method, args, "FakeServer");
+        });
+    }
+
+    /**
+     * Makes this the server behind the static Bukkit accessors.
+     * Bukkit#setServer refuses a second server and prints a version banner that needs the server jar, so the field is set directly.
+     */
+    void install() throws ReflectiveOperationException {
+        final Field field = Bukkit.class.getDeclaredField("server");
+        field.setAccessible(true);
+        field.set(null, server);
+    }
+
+    /**
+     * Adds an online player. The caller fires the join event.
+     *
+     * @param name        The player name.
+     * @param world       The world the player stands in.
+     * @param permissions Decides which permission nodes the player holds.
+     * @return The player.
+     */
+    @NotNull Player join(final @NotNull String name, final @NotNull String world, final @NotNull Predicate<String> permissions) {
+        final UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+        final World playerWorld = worlds.get(world);
+        final Player[] holder = new Player[1];
+        holder[0] = proxy(Player.class, (self, method, args) -> switch (method.getName()) {
+            case "getUniqueId" -> uuid;
+            case "getName", "getDisplayName", "getPlayerListName" -> name;
+            case "hasPermission", "isPermissionSet" -> permissions.test(args[0] instanceof Permission permission
+                    ? permission.getName() : String.valueOf(args[0]));
+            case "isOnline", "isValid", "isConnected" -> playersById.containsKey(uuid);
+            case "getWorld" -> playerWorld;
+            case "getPlayer" -> holder[0];
+            case "getServer" -> server;
+            case "locale" -> Locale.US;
+            case "getLocale" -> "en_us";
+            case "sendMessage", "sendActionBar", "sendRichMessage", "sendPlainMessage", "playSound" -> {
+                playerMessages.increment();
+                yield null;
+            }
+            case "hashCode" -> uuid.hashCode();
+            default -> answer(self, method, args, "FakePlayer[" + name + "]");
+        });
+        onlinePlayers.add(holder[0]);
+        playersById.put(uuid, holder[0]);
+        playersByName.put(name.toLowerCase(Locale.ROOT), holder[0]);
+        return holder[0];
+    }
+
+    @NotNull Server getServer() {
+        return server;
+    }
+
+    @NotNull ConsoleCommandSender getConsole() {
+        return console;
+    }
+
+    @NotNull Collection<Player> getOnlinePlayers() {
+        return Collections.unmodifiableList(onlinePlayers);
+    }
+
+    /**
+     * @return Every message, action bar and sound delivered to a player so far.
+     */
+    long getPlayerMessages() {
+        return playerMessages.sum();
+    }
+
+    /**
+     * Removes and returns the lines sent to the console so far, as plain text.
+     */
+    @NotNull List<String> drainConsole() {
+        final List<String> lines = new ArrayList<>(consoleLines);
+        consoleLines.clear();
+        return lines;
+    }
+
+    /**
+     * Hands the event to every registered handler that accepts it, lowest priority first, on the calling thread.
+     */
+    private void callEvent(final Event event) throws IllegalAccessException {
+        for (final EventPriority priority : EventPriority.values()) {
+            for (final Listener listener : listeners) {
+                for (final Method method : listener.getClass().getMethods()) {
+                    final EventHandler handler = method.getAnnotation(EventHandler.class);
+                    if (handler == null || handler.priority() != priority || method.getParameterCount() != 1
+                            || !method.getParameterTypes()[0].isInstance(event)) {
+                        continue;
+                    }
+                    try {
+                        method.invoke(listener, event);
+                    } catch (InvocationTargetException e) {
+                        throw new IllegalStateException("Could not pass " + event.getEventName() + " to " + listener, e.getCause());
+                    }
+                }
+            }
+        }
+    }
+
+    private World newWorld(final String name) {
+        return proxy(World.class, (self, method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "hashCode" -> name.hashCode();
+            default -> answer(self, method, args, "FakeWorld[" + name + "]");
+        });
+    }
+
+    private static String plain(final Object message) {
+        return message instanceof Component component ? PlainTextComponentSerializer.plainText().serialize(component) : String.valueOf(message);
+    }
+
+    /**
+     * Answers the Object methods by identity and anything else with an empty or zero value.
+     */
+    static Object answer(final Object self, final Method method, final Object[] args, final String label) {
+        return switch (method.getName()) {
+            case "equals" -> self == args[0];
+            case "hashCode" -> System.identityHashCode(self);
+            case "toString" -> label;
+            default -> defaultValue(method.getReturnType());
+        };
+    }
+
+    /**
+     * A proxy that answers every interface-typed call with another stub, so call chains never hit null.
+     */
+    private static <T> T stub(final Class<T> type) {
+        return proxy(type, (self, method, args) -> {
+            final Class<?> returnType = method.getReturnType();
+            if (returnType.isInterface() && !method.getDeclaringClass().equals(Object.class)
+                    && !Collection.class.isAssignableFrom(returnType) && !Map.class.isAssignableFrom(returnType)) {
+                return stub(returnType);
+            }
+            return answer(self, method, args, "Stub[" + type.getSimpleName() + "]");
+        });
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (type == Set.class) {
+            return Set.of();
+        }
+        if (type == List.class || type == Collection.class) {
+            return List.of();
+        }
+        if (type == Map.class) {
+            return Map.of();
+        }
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        return null;
+    }
+
+    static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(FakeServer.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
@@ -0,0 +1,366 @@
+package dev.oumaimaa;
+
+import dev.oumaimaa.commands.AdsCommand;
+import dev.oumaimaa.data.DatabaseManager;
+import dev.oumaimaa.papi.Placeholder;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Drives {@link AdsCommand} with thousands of synthetic players against a real SQLite file, one paced 50 ms tick at a time.
+ * <p>
+ * Each tick runs the due sync tasks, a batch of joins, one action for a slice of the players (submit, channel submit,
+ * confirm, cancel or idle) and the scoreboard-style placeholder requests, all on the calling thread, which stands in for
+ * the server thread. Database work runs on the real async pool, so per-tick time, queue depth and write throughput are measured,
+ * not modelled.
+ * <p>
+ * The plugin is created through its harness constructor and started with {@link KawaiiAdPlugin#startServices()},
+ * which builds everything onEnable does except the Brigadier and PlaceholderAPI registrations that need the server
+ * implementation. Shutdown runs onDisable.
+ */
+final class LoadHarness {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+    private static final String[] WORLDS = {"world", "world_nether"};
+    private static final String[] WORDS = {
+            "selling", "buying", "diamonds", "netherite", "elytra", "shulkers", "cheap", "fast", "trusted", "shop",
+            "auction", "tonight", "spawn", "market", "stacks", "enchanted", "books", "mending", "beacons", "tridents",
+            "totems", "wool", "concrete", "redstone", "farms", "villagers", "emeralds", "bulk", "discount", "builders",
+            "wanted", "hiring", "guild", "event", "prizes", "parkour", "arena", "tournament", "lottery", "raffle"
+    };
+    private static final String[] PLACEHOLDERS = {"cooldown_remaining", "is_on_cooldown", "cooldown_remaining_trade"};
+    private static final String USE_PERMISSION = "kawaiid.use";
+
+    private final File dataFolder;
+    private final Settings settings;
+    private final SplittableRandom random;
+    private final Logger logger = Logger.getLogger("KawaiiAD-load");
+
+    LoadHarness(final @NotNull File dataFolder, final @NotNull Settings settings) {
+        this.dataFolder = dataFolder;
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.seed());
+    }
+
+    /**
+     * Runs the load, then disables the plugin.
+     *
+     * @return The measurements.
+     */
+    @NotNull Report run() throws Exception {
+        final long[] tickNanos = new long[settings.ticks()];
+        final int[] queueDepths = new int[settings.ticks()];
+        final TickScheduler scheduler = new TickScheduler(Thread.currentThread(), logger);
+        final FakeServer server = new FakeServer(logger, scheduler, () -> averageMillis(tickNanos), WORLDS);
+        server.install();
+        writeConfig();
+
+        final KawaiiAdPlugin plugin = createPlugin(server.getServer());
+        plugin.startServices();
+        final AdsCommand command = new AdsCommand(plugin);
+        final Placeholder placeholder = new Placeholder(plugin, "load");
+        final DatabaseManager database = plugin.getDatabaseManager();
+        final List<String> channels = new ArrayList<>(plugin.getAdsConfigManager().getChannels().keySet());
+        final Map<String, Long> actions = new HashMap<>();
+        final List<Player> players = new ArrayList<>(settings.players());
+
+        final long startNanos = System.nanoTime();
+        long nextTick = startNanos;
+        for (int tick = 0; tick < settings.ticks(); tick++) {
+            final long tickStart = System.nanoTime();
+            scheduler.tick();
+
+            for (int joined = 0; joined < settings.joinsPerTick() && players.size() < settings.players(); joined++) {
+                players.add(join(server, players.size()));
+            }
+            if (!players.isEmpty()) {
+                for (int i = 0; i < settings.actionsPerTick(); i++) {
+                    act(command, plugin, players.get(random.nextInt(players.size())), channels, actions);
+                }
+                for (int i = 0; i < settings.placeholdersPerTick(); i++) {
+                    placeholder.onRequest(players.get(random.nextInt(players.size())), PLACEHOLDERS[random.nextInt(PLACEHOLDERS.length)]);
+                }
+                actions.merge("placeholder", (long) settings.placeholdersPerTick(), Long::sum);
+            }
+
+            tickNanos[tick] = System.nanoTime() - tickStart;
+            queueDepths[tick] = database.getQueuedOperations() + database.getReplayQueueSize();
+            nextTick += TICK_NANOS;
+            final long sleep = nextTick - System.nanoTime();
+            if (sleep > 0L) {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            }
+        }
+        final long loadNanos = System.nanoTime() - startNanos;
+        final long writesDuringLoad = database.getCompletedOperations();
+
+        // Keep ticking until every write has landed, as a real server would while idling.
+        final long drainStart = System.nanoTime();
+        final long drainDeadline = drainStart + TimeUnit.SECONDS.toNanos(60L);
+        while ((database.getQueuedOperations() > 0 || database.getReplayQueueSize() > 0) && System.nanoTime() < drainDeadline) {
+            scheduler.tick();
+            TimeUnit.MILLISECONDS.sleep(50L);
+        }
+        final long drainNanos = System.nanoTime() - drainStart;
+
+        server.drainConsole();
+        command.execute(server.getConsole(), new String[]{"stats"});
+        final List<String> stats = server.drainConsole();
+        final int finalQueueDepth = database.getQueuedOperations() + database.getReplayQueueSize();
+        final long completed = database.getCompletedOperations();
+        final long failed = database.getFailedOperations();
+        final long dropped = database.getDroppedWrites();
+        final long messages = server.getPlayerMessages();
+
+        plugin.onDisable();
+        scheduler.shutdown();
+        final long shutdownWrites = database.getCompletedOperations() - completed;
+
+        return new Report(settings, tickNanos, queueDepths, loadNanos, drainNanos, writesDuringLoad, completed, failed,
+                dropped, shutdownWrites, finalQueueDepth, countRows("ad_cooldowns"), messages, Map.copyOf(actions), stats,
+                scheduler.getErrors(), scheduler.getFirstError());
+    }
+
+    /**
+     * Performs one player action: follow up on a pending ad, or submit a new one.
+     */
+    private void act(final AdsCommand command, final KawaiiAdPlugin plugin, final Player player, final List<String> channels,
+                     final Map<String, Long> actions) {
+        final double roll = random.nextDouble();
+        final String action;
+        final String[] args;
+        if (plugin.getPendingAds().containsKey(player.getUniqueId())) {
+            if (roll < 0.70) {
+                action = "confirm";
+                args = new String[]{"confirm"};
+            } else if (roll < 0.85) {
+                action = "cancel";
+                args = new String[]{"cancel"};
+            } else {
+                // Walk away and let the confirmation time out.
+                action = "idle";
+                args = null;
+            }
+        } else if (roll < 0.80 || channels.isEmpty()) {
+            action = "submit";
+            args = randomAd().split(" ");
+        } else {
+            action = "channel-submit";
+            final String[] words = randomAd().split(" ");
+            args = new String[words.length + 2];
+            args[0] = "channel";
+            args[1] = channels.get(random.nextInt(channels.size()));
+            System.arraycopy(words, 0, args, 2, words.length);
+        }
+        if (args != null) {
+            command.execute(player, args);
+        }
+        actions.merge(action, 1L, Long::sum);
+    }
+
+    private String randomAd() {
+        final int length = 4 + random.nextInt(5);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Adds a player and fires the join event at the plugin's listeners. Most players are regulars, some hold a rank,
+     * a few are staff reviewing ads; everyone may use every channel.
+     */
+    private Player join(final FakeServer server, final int index) {
+        final double roll = random.nextDouble();
+        final String rank = roll < 0.10 ? "kawaiid.cooldown.vip" : roll < 0.15 ? "kawaiid.cooldown.donor" : null;
+        final boolean staff = roll > 0.99;
+        final Player player = server.join("loadtester" + index, WORLDS[index % WORLDS.length], node ->
+                node.equals(USE_PERMISSION) || node.startsWith("kawaiid.channel.") || node.equals(rank)
+                        || (staff && node.equals(AdsCommand.REVIEW_PERMISSION)));
+        server.getServer().getPluginManager().callEvent(new PlayerJoinEvent(player, Component.empty()));
+        return player;
+    }
+
+    /**
+     * Writes a config.yml with short cooldowns and timeouts, so players cycle through submit, confirm and cooldown
+     * several times within a run.
+     */
+    private void writeConfig() throws Exception {
+        final YamlConfiguration config;
+        try (InputStream bundled = LoadHarness.class.getClassLoader().getResourceAsStream("config.yml");
+             Reader reader = new InputStreamReader(Objects.requireNonNull(bundled, "config.yml"), StandardCharsets.UTF_8)) {
+            config = YamlConfiguration.loadConfiguration(reader);
+        }
+        config.set("cooldowns.default", settings.cooldownSeconds());
+        config.set("cooldowns.ranks.vip", Math.max(1L, settings.cooldownSeconds() / 3L));
+        config.set("cooldowns.ranks.donor", Math.max(1L, settings.cooldownSeconds() / 2L));
+        config.set("cooldowns.quotas.donor.ads", 3);
+        config.set("cooldowns.quotas.donor.window", settings.cooldownSeconds() * 6L);
+        config.set("channels.trade.cooldown", settings.cooldownSeconds() * 2L);
+        config.set("channels.events.cooldown", settings.cooldownSeconds());
+        config.set("confirmation-timeout-seconds", 5L);
+        config.set("settings.audience-resync-seconds", 10L);
+        config.set("moderation.duplicate-detection.window-seconds", 60L);
+        config.save(new File(dataFolder, "config.yml"));
+    }
+
+    /**
+     * Creates the plugin with the bundled plugin.yml as its description and the run's folder as its data folder.
+     */
+    @SuppressWarnings("removal")
+    private KawaiiAdPlugin createPlugin(final Server server) throws Exception {
+        final PluginDescriptionFile description;
+        try (InputStream in = Objects.requireNonNull(LoadHarness.class.getClassLoader().getResourceAsStream("plugin.yml"), "plugin.yml")) {
+            description = new PluginDescriptionFile(in);
+        }
+        return new KawaiiAdPlugin(new JavaPluginLoader(server), description, dataFolder, new File(dataFolder, "KawaiiAD.jar"));
+    }
+
+    private long countRows(final String table) throws Exception {
+        final File database = new File(dataFolder, "cooldowns.db");
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + database.getAbsolutePath());
+             Statement statement = conn.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    private static double averageMillis(final long[] tickNanos) {
+        long sum = 0L;
+        int count = 0;
+        for (final long nanos : tickNanos) {
+            if (nanos > 0L) {
+                sum += nanos;
+                count++;
+            }
+        }
+        return count == 0 ? 0.0 : sum / (count * 1_000_000.0);
+    }
+
+    /**
+     * The size and shape of a run. Every value can be overridden with a kawaiiad.load.* system property.
+     *
+     * @param players             The number of synthetic players.
+     * @param ticks               The number of 50 ms ticks under load.
+     * @param joinsPerTick        How many players join per tick until all are online.
+     * @param actionsPerTick      How many /ads actions run per tick.
+     * @param placeholdersPerTick How many placeholder requests run per tick.
+     * @param cooldownSeconds     The default ad cooldown; ranks, quotas and channels are scaled from it.
+     * @param seed                The random seed, so runs are repeatable.
+     */
+    record Settings(int players, int ticks, int joinsPerTick, int actionsPerTick, int placeholdersPerTick,
+                    long cooldownSeconds, long seed) {
+
+        static @NotNull Settings fromSystemProperties() {
+            final int players = Integer.getInteger("kawaiiad.load.players", 2000);
+            return new Settings(players,
+                    Integer.getInteger("kawaiiad.load.ticks", 1200),
+                    Integer.getInteger("kawaiiad.load.joins-per-tick", 200),
+                    Integer.getInteger("kawaiiad.load.actions-per-tick", Math.max(1, players / 20)),
+                    Integer.getInteger("kawaiiad.load.placeholders-per-tick", Math.max(1, players / 20)),
+                    Long.getLong("kawaiiad.load.cooldown-seconds", 10L),
+                    Long.getLong("kawaiiad.load.seed", 42L));
+        }
+    }
+
+    /**
+     * What a run measured.
+     *
+     * @param tickNanos        The main-thread time of every tick under load.
+     * @param queueDepths      The DB queue depth (scheduled plus replay) sampled at the end of every tick.
+     * @param loadNanos        The wall time of the load phase.
+     * @param drainNanos       How long the queue took to empty once the load stopped.
+     * @param writesDuringLoad Writes completed by the end of the load phase.
+     * @param shutdownWrites   Writes completed by the shutdown save in onDisable.
+     * @param persistedRows    Cooldown rows in the SQLite file after shutdown.
+     * @param playerMessages   Messages, action bars and sounds delivered to players.
+     * @param actions          How often each player action ran.
+     * @param stats            The output of /ads stats after the drain.
+     * @param taskErrors       How many times a scheduled task threw.
+     * @param firstError       The first exception thrown by a scheduled task, or null.
+     */
+    record Report(Settings settings, long[] tickNanos, int[] queueDepths, long loadNanos, long drainNanos,
+                  long writesDuringLoad, long completedWrites, long failedWrites, long droppedWrites, long shutdownWrites,
+                  int finalQueueDepth, long persistedRows, long playerMessages, Map<String, Long> actions, List<String> stats,
+                  long taskErrors, Throwable firstError) {
+
+        @NotNull String format() {
+            final long[] ticks = tickNanos.clone();
+            Arrays.sort(ticks);
+            final int[] depths = queueDepths.clone();
+            Arrays.sort(depths);
+            final double loadSeconds = loadNanos / 1e9;
+            long overBudget = 0L;
+            long tickSum = 0L;
+            for (final long nanos : ticks) {
+                tickSum += nanos;
+                if (nanos > TICK_NANOS) {
+                    overBudget++;
+                }
+            }
+            long depthSum = 0L;
+            for (final int depth : depths) {
+                depthSum += depth;
+            }
+            long commands = 0L;
+            for (final Map.Entry<String, Long> entry : actions.entrySet()) {
+                if (!entry.getKey().equals("idle") && !entry.getKey().equals("placeholder")) {
+                    commands += entry.getValue();
+                }
+            }
+
+            final StringBuilder sb = new StringBuilder();
+            sb.append(String.format("--- KawaiiAD load: %d players, %d ticks (%.1f s) ---%n", settings.players(), ticks.length, loadSeconds));
+            sb.append(String.format("Tick time (ms): mean %.3f, p50 %.3f, p95 %.3f, p99 %.3f, max %.3f; ticks over 50 ms: %d%n",
+                    tickSum / (ticks.length * 1e6), percentile(ticks, 0.50) / 1e6, percentile(ticks, 0.95) / 1e6,
+                    percentile(ticks, 0.99) / 1e6, ticks[ticks.length - 1] / 1e6, overBudget));
+            sb.append(String.format("DB queue depth: mean %.1f, p99 %d, max %d; %d left after a %.2f s drain%n",
+                    (double) depthSum / depths.length, depths[Math.max(0, (int) Math.ceil(depths.length * 0.99) - 1)],
+                    depths[depths.length - 1], finalQueueDepth, drainNanos / 1e9));
+            sb.append(String.format("DB writes: %d completed (%.1f/s under load), %d failed, %d dropped, %d at shutdown; %d cooldown rows stored%n",
+                    completedWrites, writesDuringLoad / loadSeconds, failedWrites, droppedWrites, shutdownWrites, persistedRows));
+            sb.append(String.format("Commands: %d (%.1f/s) %s; player messages delivered: %d%n",
+                    commands, commands / loadSeconds, new TreeMap<>(actions), playerMessages));
+            sb.append(String.format("Task exceptions: %d%s%n", taskErrors, firstError == null ? "" : " (first: " + firstError + ")"));
+            sb.append("/ads stats:").append(System.lineSeparator());
+            for (final String line : stats) {
+                sb.append("  ").append(line).append(System.lineSeparator());
+            }
+            return sb.toString();
+        }
+
+        private static long percentile(final long[] sorted, final double fraction) {
+            return sorted[Math.max(0, (int) Math.ceil(sorted.length * fraction) - 1)];
+        }
+    }
+}
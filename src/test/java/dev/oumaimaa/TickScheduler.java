@@ -0,0 +1,170 @@
+package dev.oumaimaa;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A Bukkit scheduler whose ticks are driven by the harness.
+ * Sync tasks run on the thread that calls {@link #tick()}, async tasks on a cached pool like Bukkit's async scheduler.
+ * As in Bukkit, a task that throws is logged and a repeating task keeps its schedule.
+ */
+final class TickScheduler {
+
+    private final Thread mainThread;
+    private final Logger logger;
+    private final Queue<Task> submitted = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<Task> scheduled = new PriorityQueue<>(
+            Comparator.comparingLong((Task task) -> task.nextTick).thenComparingInt(task -> task.id));
+    private final AtomicInteger ids = new AtomicInteger();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+    private final ExecutorService async;
+    private final BukkitScheduler bukkitScheduler;
+    private volatile long currentTick;
+
+    TickScheduler(final @NotNull Thread mainThread, final @NotNull Logger logger) {
+        this.mainThread = mainThread;
+        this.logger = logger;
+        final AtomicInteger threads = new AtomicInteger();
+        this.async = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "KawaiiAD-load-async-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bukkitScheduler = FakeServer.proxy(BukkitScheduler.class, (self, method, args) -> switch (method.getName()) {
+            case "runTask" -> submit((Plugin) args[0], args[1], 0L, 0L);
+            case "runTaskLater" -> submit((Plugin) args[0], args[1], (long) args[2], 0L);
+            case "runTaskTimer" -> submit((Plugin) args[0], args[1], (long) args[2], (long) args[3]);
+            case "runTaskAsynchronously" -> {
+                final Task task = new Task((Plugin) args[0], body(args[1]), 0L, 0L, false);
+                async.execute(() -> guard(task));
+                yield task.handle;
+            }
+            default -> FakeServer.answer(self, method, args, "FakeScheduler");
+        });
+    }
+
+    /**
+     * @return The scheduler the fake server hands out.
+     */
+    @NotNull BukkitScheduler asBukkitScheduler() {
+        return bukkitScheduler;
+    }
+
+    /**
+     * Advances one tick and runs every sync task that is due. Call from the main thread only.
+     */
+    void tick() {
+        final long tick = ++currentTick;
+        Task task;
+        while ((task = submitted.poll()) != null) {
+            scheduled.offer(task);
+        }
+        while ((task = scheduled.peek()) != null && task.nextTick <= tick) {
+            scheduled.poll();
+            if (task.cancelled) {
+                continue;
+            }
+            guard(task);
+            if (task.period > 0L && !task.cancelled) {
+                task.nextTick = tick + task.period;
+                scheduled.offer(task);
+            }
+        }
+    }
+
+    boolean isMainThread() {
+        return Thread.currentThread() == mainThread;
+    }
+
+    /**
+     * @return How many times a task has thrown.
+     */
+    long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return The first exception thrown by any task, or null if every task ran cleanly.
+     */
+    Throwable getFirstError() {
+        return firstError.get();
+    }
+
+    /**
+     * Stops accepting async work and waits for what is already running.
+     */
+    void shutdown() throws InterruptedException {
+        async.shutdown();
+        async.awaitTermination(30L, TimeUnit.SECONDS);
+    }
+
+    private BukkitTask submit(final Plugin owner, final Object body, final long delayTicks, final long periodTicks) {
+        final Task task = new Task(owner, body(body), currentTick + Math.max(1L, delayTicks), periodTicks, true);
+        submitted.offer(task);
+        return task.handle;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<BukkitTask> body(final Object task) {
+        if (task instanceof Consumer<?> consumer) {
+            return (Consumer<BukkitTask>) consumer;
+        }
+        final Runnable runnable = (Runnable) task;
+        return handle -> runnable.run();
+    }
+
+    private void guard(final Task task) {
+        try {
+            task.body.accept(task.handle);
+        } catch (Throwable t) {
+            errors.increment();
+            if (firstError.compareAndSet(null, t)) {
+                logger.log(Level.WARNING, "Task #" + task.id + " generated an exception", t);
+            }
+        }
+    }
+
+    private final class Task {
+
+        private final int id = ids.incrementAndGet();
+        private final Consumer<BukkitTask> body;
+        private final long period;
+        private final BukkitTask handle;
+        private long nextTick;
+        private volatile boolean cancelled;
+
+        private Task(final Plugin owner, final Consumer<BukkitTask> body, final long nextTick, final long period, final boolean sync) {
+            this.body = body;
+            this.nextTick = nextTick;
+            this.period = period;
+            this.handle = FakeServer.proxy(BukkitTask.class, (self, method, args) -> switch (method.getName()) {
+                case "getTaskId" -> id;
+                case "getOwner" -> owner;
+                case "isSync" -> sync;
+                case "isCancelled" -> cancelled;
+                case "cancel" -> {
+                    cancelled = true;
+                    yield null;
+                }
+                default -> FakeServer.answer(self, method, args, "FakeTask#" + id);
+            });
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package dev.oumaimaa.data;
+
+import dev.oumaimaa.papi.CompiledAdMessage;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PendingAdTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 2_000;
+    private static final PendingAd.State[] TERMINAL = {
+            PendingAd.State.CONFIRMED, PendingAd.State.CANCELLED, PendingAd.State.EXPIRED
+    };
+
+    private static PendingAd newAd() {
+        final CompiledAdMessage message = CompiledAdMessage.compile("&aBuying diamonds", LegacyComponentSerializer.legacyAmpersand());
+        return new PendingAd(message, Component.text("[Ad] ").append(message.getLiteralComponent()),
+                System.currentTimeMillis() + 30_000L, "world", null);
+    }
+
+    @Test
+    void exactlyOneRacingTransitionWins() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                final PendingAd ad = newAd();
+                final CountDownLatch start = new CountDownLatch(1);
+                final AtomicInteger winners = new AtomicInteger();
+                final List<Future<PendingAd.State>> results = new ArrayList<>();
+
+                for (int t = 0; t < THREADS; t++) {
+                    final PendingAd.State target = TERMINAL[t % TERMINAL.length];
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        if (ad.tryTransition(target)) {
+                            winners.incrementAndGet();
+                            return target;
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+
+                PendingAd.State won = null;
+                for (final Future<PendingAd.State> result : results) {
+                    final PendingAd.State state = result.get(5, TimeUnit.SECONDS);
+                    if (state != null) {
+                        won = state;
+                    }
+                }
+                assertEquals(1, winners.get(), "round " + round);
+                assertSame(won, ad.getState(), "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void staleRemovalNeverDropsNewerAd() throws Exception {
+        final ConcurrentMap<UUID, PendingAd> pendingAds = new ConcurrentHashMap<>();
+        final UUID player = UUID.randomUUID();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                final PendingAd first = newAd();
+                pendingAds.put(player, first);
+                final CountDownLatch start = new CountDownLatch(1);
+
+                // A confirm ends the first ad and immediately resubmits, while the timeout for the first ad fires.
+                final Future<PendingAd> resubmit = executor.submit(() -> {
+                    start.await();
+                    if (!first.tryTransition(PendingAd.State.CONFIRMED)) {
+                        return null;
+                    }
+                    pendingAds.remove(player, first);
+                    final PendingAd second = newAd();
+                    return pendingAds.putIfAbsent(player, second) == null ? second : null;
+                });
+                final Future<?> timeout = executor.submit(() -> {
+                    start.await();
+                    if (first.tryTransition(PendingAd.State.EXPIRED)) {
+                        pendingAds.remove(player, first);
+                    }
+                    // Late duplicate removal from the losing path must be harmless.
+                    pendingAds.remove(player, first);
+                    return null;
+                });
+                start.countDown();
+
+                final PendingAd second = resubmit.get(5, TimeUnit.SECONDS);
+                timeout.get(5, TimeUnit.SECONDS);
+
+                if (second != null) {
+                    assertSame(second, pendingAds.get(player), "round " + round);
+                    assertEquals(PendingAd.State.PENDING, second.getState());
+                } else {
+                    assertEquals(PendingAd.State.EXPIRED, first.getState());
+                    assertNotEquals(first, pendingAds.get(player));
+                }
+                pendingAds.clear();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void terminalStatesAreFinal() {
+        final PendingAd ad = newAd();
+        assertThrows(IllegalArgumentException.class, () -> ad.tryTransition(PendingAd.State.PENDING));
+        assertTrue(ad.tryTransition(PendingAd.State.CANCELLED));
+        assertFalse(ad.tryTransition(PendingAd.State.CONFIRMED));
+        assertEquals(PendingAd.State.CANCELLED, ad.getState());
+        assertTrue(ad.isExpired(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,56 @@
+package dev.oumaimaa.moderation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdvertisingDetectorTest {
+
+    private final AdvertisingDetector detector = new AdvertisingDetector();
+    private final DomainWhitelist whitelist = DomainWhitelist.compile(List.of("kawaii.net"));
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "join play.server.net",
+            "come to Server.Com now",
+            "play.srv.gg",
+            "visit server.net. It is great",
+            "ip 192.168.1.20:25565",
+            "play . server . net",
+            "play dot server dot net",
+            "play(dot)server(dot)net",
+            "play[.]server[.]net",
+            "play(.)server(.)net",
+            "play&a.server&b.net"
+    })
+    void flagsAddressesAndObfuscations(final String message) {
+        assertTrue(detector.containsAdvertisement(message, whitelist), message);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Best shop. It has everything",
+            "Join spawn. Fun for all",
+            "Come to spawn. Live music tonight",
+            "Buying diamonds. Me and my team pay well",
+            "Trade at spawn. Pro tips included",
+            "Hello world. Games tonight at 8. Club meeting after",
+            "Wait... it works",
+            "The end.",
+            "Version 1.21 is out"
+    })
+    void ignoresOrdinaryProse(final String message) {
+        assertFalse(detector.containsAdvertisement(message, whitelist), message);
+    }
+
+    @Test
+    void allowsWhitelistedDomainsAndSubdomains() {
+        assertFalse(detector.containsAdvertisement("We are on kawaii.net", whitelist));
+        assertFalse(detector.containsAdvertisement("Join play.kawaii.net today", whitelist));
+    }
+}
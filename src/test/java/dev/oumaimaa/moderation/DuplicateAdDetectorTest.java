@@ -0,0 +1,48 @@
+package dev.oumaimaa.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateAdDetectorTest {
+
+    private static final long WINDOW = 60_000L;
+
+    @Test
+    void findsOnlyRetainedAdsAfterTheRingWraps() {
+        final DuplicateAdDetector detector = new DuplicateAdDetector(16, 256);
+        for (int i = 0; i < 100; i++) {
+            detector.record("Selling enchanted gear at shop number " + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            final String ad = "Selling enchanted gear at shop number " + i;
+            if (i >= 84) {
+                assertTrue(detector.isNearDuplicate(ad, 0, WINDOW), ad);
+            } else {
+                assertFalse(detector.isNearDuplicate(ad, 0, WINDOW), ad);
+            }
+        }
+    }
+
+    @Test
+    void ignoresFormattingAndHonoursTheDistance() {
+        final DuplicateAdDetector detector = new DuplicateAdDetector(256, 256);
+        detector.record("Buying diamonds and emeralds at spawn, paying well");
+        assertTrue(detector.isNearDuplicate("&aBUYING diamonds AND emeralds at spawn... paying well!", 0, WINDOW));
+        assertFalse(detector.isNearDuplicate("Free cake at the lighthouse party tonight", 6, WINDOW));
+        // Large distances are answered by scanning the ring instead of the band buckets.
+        assertTrue(detector.isNearDuplicate("Buying diamonds and emeralds at spawn, paying well", 64, WINDOW));
+    }
+
+    @Test
+    void ignoresAdsOutsideTheWindowAndForgetsOnClear() {
+        final DuplicateAdDetector detector = new DuplicateAdDetector(8, 256);
+        detector.record("Cheap iron blocks in the market district");
+        assertFalse(detector.isNearDuplicate("Cheap iron blocks in the market district", 0, -1L));
+        detector.clear();
+        assertFalse(detector.isNearDuplicate("Cheap iron blocks in the market district", 0, WINDOW));
+        detector.record("Cheap iron blocks in the market district");
+        assertTrue(detector.isNearDuplicate("Cheap iron blocks in the market district", 0, WINDOW));
+    }
+}